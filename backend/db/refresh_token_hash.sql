@@ -0,0 +1,49 @@
+-- refresh_token.refresh(토큰 원문 varchar(512)) -> refresh_hash(SHA-256 hex char(64)) + uk_refresh_token_hash
+-- digest 저장 이전 스키마의 DB 에서 새 버전을 배포하기 전에 한 번 실행 (MySQL 8.0).
+-- 새 버전은 refresh 컬럼에 값을 넣지 않으므로, NOT NULL 인 refresh 가 남아 있으면 로그인(addRefresh) insert 가 모두 실패함.
+-- 기존 행은 원문의 SHA2(refresh, 256) 으로 채우므로 (JWTUtil.digest 와 같은 소문자 hex) 이미 발급된 토큰도 계속 쓸 수 있음.
+-- 모든 단계는 다시 실행해도 안전함 (이미 바뀐 스키마에서는 건너뜀).
+
+-- 1. refresh_hash 를 NULL 허용으로 먼저 추가 (ddl-auto=update 로 이미 생겼으면 건너뜀)
+SET @sql = IF((SELECT COUNT(*) FROM information_schema.columns
+               WHERE table_schema = DATABASE() AND table_name = 'refresh_token' AND column_name = 'refresh_hash') = 0,
+              'ALTER TABLE refresh_token ADD COLUMN refresh_hash CHAR(64) NULL',
+              'DO 0');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 2. 원문이 남아 있는 행은 digest 로 채움 (update 가 NOT NULL 로 만든 컬럼이면 '' 로 채워져 있음)
+SET @has_refresh = (SELECT COUNT(*) FROM information_schema.columns
+                    WHERE table_schema = DATABASE() AND table_name = 'refresh_token' AND column_name = 'refresh');
+SET @sql = IF(@has_refresh > 0,
+              'UPDATE refresh_token SET refresh_hash = SHA2(refresh, 256) WHERE refresh_hash IS NULL OR refresh_hash = ''''',
+              'DO 0');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- digest 를 만들 수 없는 행은 제거 (해당 토큰은 다시 로그인해야 함)
+DELETE FROM refresh_token WHERE refresh_hash IS NULL OR refresh_hash = '';
+
+-- 3. 같은 토큰이 여러 번 저장된 경우 id 가 가장 작은 행만 남김 (unique 제약 추가 전)
+DELETE duplicate
+FROM refresh_token duplicate
+         JOIN refresh_token kept ON kept.refresh_hash = duplicate.refresh_hash AND kept.id < duplicate.id;
+
+-- 4. 원문 컬럼 제거
+SET @sql = IF(@has_refresh > 0, 'ALTER TABLE refresh_token DROP COLUMN refresh', 'DO 0');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 5. NOT NULL + unique 제약
+ALTER TABLE refresh_token MODIFY COLUMN refresh_hash CHAR(64) NOT NULL;
+
+SET @sql = IF((SELECT COUNT(*) FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = 'refresh_token' AND index_name = 'uk_refresh_token_hash') = 0,
+              'ALTER TABLE refresh_token ADD CONSTRAINT uk_refresh_token_hash UNIQUE (refresh_hash)',
+              'DO 0');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
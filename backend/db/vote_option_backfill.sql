@@ -0,0 +1,51 @@
+-- vote.options(@Lob JSON 배열) / vote_result.selected_option(선택지 문자열) -> vote_option 테이블 + vote_result.option_id
+-- 선택지 정규화 이전 스키마의 DB 에서 새 버전을 배포하기 전에 한 번 실행 (MySQL 8.0, JSON_TABLE 필요).
+-- 새 버전은 legacy 컬럼을 읽지 않고, vote.options 가 NOT NULL 이라 새 투표 insert 도 실패하므로 먼저 실행해야 함.
+-- 1, 2 단계는 다시 실행해도 이미 옮긴 행/컬럼은 건너뜀. 3 단계는 2 단계의 확인 쿼리가 0 건일 때만 한 번 실행.
+
+-- 1. 투표마다 options JSON 배열을 순서(position, 0 부터) 대로 vote_option 행으로 분리
+CREATE TABLE IF NOT EXISTS vote_option (
+    id       BIGINT       NOT NULL AUTO_INCREMENT,
+    vote_id  BIGINT       NOT NULL,
+    position INT          NOT NULL,
+    label    VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_vote_option_position UNIQUE (vote_id, position),
+    CONSTRAINT fk_vote_option_vote FOREIGN KEY (vote_id) REFERENCES vote (id)
+);
+
+INSERT INTO vote_option (vote_id, position, label)
+SELECT v.id, o.ord - 1, o.label
+FROM vote v
+         JOIN JSON_TABLE(v.options, '$[*]' COLUMNS (ord FOR ORDINALITY, label VARCHAR(255) PATH '$')) o
+WHERE NOT EXISTS (SELECT 1 FROM vote_option existing WHERE existing.vote_id = v.id);
+
+-- 2. 투표 내역의 선택지 문자열을 option_id 로 (같은 라벨이 여러 개면 앞 순서의 선택지)
+SET @sql = IF((SELECT COUNT(*) FROM information_schema.columns
+               WHERE table_schema = DATABASE() AND table_name = 'vote_result' AND column_name = 'option_id') = 0,
+              'ALTER TABLE vote_result ADD COLUMN option_id BIGINT NULL',
+              'DO 0');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+UPDATE vote_result r
+SET r.option_id = (SELECT MIN(o.id)
+                   FROM vote_option o
+                   WHERE o.vote_id = r.vote_id
+                     AND o.label = r.selected_option)
+WHERE r.option_id IS NULL;
+
+-- 확인 : 선택지 목록에 없는 문자열로 기록된 내역 (0 건이어야 함, 있으면 정리한 뒤 3 단계로)
+SELECT r.id, r.vote_id, r.selected_option
+FROM vote_result r
+WHERE r.option_id IS NULL;
+
+-- 3. 제약 추가 후 legacy 컬럼 제거
+ALTER TABLE vote_result
+    MODIFY COLUMN option_id BIGINT NOT NULL,
+    ADD CONSTRAINT fk_vote_result_option FOREIGN KEY (option_id) REFERENCES vote_option (id),
+    DROP COLUMN selected_option;
+
+ALTER TABLE vote
+    DROP COLUMN options;
@@ -0,0 +1,25 @@
+-- 투표자당 한 표 : vote_result 의 (vote_id, voter_id) 중복 제거 후 uk_vote_result_vote_voter 추가
+-- 예전 코드는 같은 voter 의 재시도/중복 요청을 여러 행으로 기록했으므로, 새 버전을 배포하기 전에 한 번 실행 (MySQL 8.0).
+-- 중복이 남아 있으면 제약 추가가 실패하고, ddl-auto=update 는 실패한 제약을 조용히 건너뜀.
+-- 다시 실행해도 안전함 (중복이 없고 제약이 이미 있으면 아무것도 바꾸지 않음).
+
+-- 1. 확인 : 중복 투표 수 (vote_id, voter_id 별)
+SELECT vote_id, voter_id, COUNT(*) AS ballots
+FROM vote_result
+GROUP BY vote_id, voter_id
+HAVING COUNT(*) > 1;
+
+-- 2. voter 마다 가장 먼저 기록된 (id 가 가장 작은) 표만 남김
+DELETE duplicate
+FROM vote_result duplicate
+         JOIN vote_result kept
+              ON kept.vote_id = duplicate.vote_id AND kept.voter_id = duplicate.voter_id AND kept.id < duplicate.id;
+
+-- 3. unique 제약 (이미 있으면 건너뜀)
+SET @sql = IF((SELECT COUNT(*) FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = 'vote_result' AND index_name = 'uk_vote_result_vote_voter') = 0,
+              'ALTER TABLE vote_result ADD CONSTRAINT uk_vote_result_vote_voter UNIQUE (vote_id, voter_id)',
+              'DO 0');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
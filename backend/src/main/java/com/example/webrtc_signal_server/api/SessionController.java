@@ -3,17 +3,30 @@ package com.example.webrtc_signal_server.api;
 
 import com.example.webrtc_signal_server.domain.session.dto.SessionCreateRequestDTO;
 import com.example.webrtc_signal_server.domain.session.dto.SessionSummaryResponseDTO;
+import com.example.webrtc_signal_server.domain.session.entity.SessionStatus;
 import com.example.webrtc_signal_server.domain.session.service.SessionService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/sessions")
 @RequiredArgsConstructor
 public class SessionController {
+
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_BULK_SESSIONS = 500;
+    private static final MediaType RECAP_CONTENT_TYPE = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
     private final SessionService sessionService;
 
     @PostMapping
@@ -22,11 +35,25 @@ public class SessionController {
         return ResponseEntity.ok("Session created successfully. ID: " + sessionId);
     }
 
+    // 여러 세션을 한 번에 생성 (예: 하루 일정), 생성된 sessionId 를 요청 순서대로 반환
+    @PostMapping("/bulk")
+    public ResponseEntity<List<Long>> createSessions(@RequestBody List<SessionCreateRequestDTO> requestDtos) {
+        if (requestDtos.isEmpty() || requestDtos.size() > MAX_BULK_SESSIONS) {
+            throw new IllegalArgumentException("Bulk session count must be 1.." + MAX_BULK_SESSIONS);
+        }
+        return ResponseEntity.ok(sessionService.createSessions(requestDtos));
+    }
+
+    // 최신 세션부터 (sessionId 내림차순), beforeId 에 이전 페이지 마지막 sessionId 를 넘기면 더 오래된 다음 페이지, status 로 필터 가능
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<SessionSummaryResponseDTO>> getMySessions(
-            @PathVariable Long userId
+            @PathVariable Long userId,
+            @RequestParam(value = "status", required = false) SessionStatus status,
+            @RequestParam(value = "beforeId", required = false) Long beforeId,
+            @RequestParam(value = "size", defaultValue = "100") int size
     ) {
-        List<SessionSummaryResponseDTO> sessions = sessionService.getMySessions(userId);
+        List<SessionSummaryResponseDTO> sessions =
+                sessionService.getMySessions(userId, status, beforeId == null ? Long.MAX_VALUE : beforeId, Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
         return ResponseEntity.ok(sessions);
     }
 
@@ -44,9 +71,62 @@ public class SessionController {
         return ResponseEntity.ok(status);
     }
 
+    // 상태 polling 대신 SSE : 현재 상태를 바로 보내고 이후 전이마다 "status" 이벤트
+    @GetMapping(value = "/{sessionId}/status/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSessionStatus(@PathVariable Long sessionId) {
+        return sessionService.subscribeSessionStatus(sessionId);
+    }
+
+    // recap 을 캐시 사본(메모리 배열 또는 디스크 파일)에서 그대로 스트리밍
+    // ETag + If-None-Match -> 304, Range -> 206 (원본 표현에만 적용), Accept-Encoding: gzip -> 미리 압축해 둔 사본
+    // 캐시 miss 면 S3 조회가 끝날 때까지 요청 스레드를 반납 (async)
     @GetMapping("/{sessionId}/recap")
-    public ResponseEntity<String> getSessionRecap(@PathVariable Long sessionId) {
-        String recap = sessionService.getSessionRecap(sessionId);
-        return ResponseEntity.ok(recap);
+    public CompletableFuture<ResponseEntity<Resource>> getSessionRecap(
+            @PathVariable Long sessionId,
+            @RequestHeader HttpHeaders headers
+    ) {
+        boolean gzip = headers.getRange().isEmpty() && acceptsGzip(headers);
+        return sessionService.getSessionRecap(sessionId).thenApply(recap -> {
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .eTag(gzip ? recap.eTag() + "-gzip" : recap.eTag())
+                    .cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .contentType(RECAP_CONTENT_TYPE);
+            if (gzip) {
+                response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            return response.body(recap.resource(gzip));
+        });
+    }
+
+    // Accept-Encoding 의 q 값 기준 : gzip 이 명시돼 있으면 그 q, 없으면 * 의 q 가 0 보다 커야 gzip (q 가 잘못되면 0 으로 봄)
+    private static boolean acceptsGzip(HttpHeaders headers) {
+        double gzipQuality = -1; // -1 : 헤더에 없음
+        double anyQuality = -1;
+        for (String value : headers.getValuesAsList(HttpHeaders.ACCEPT_ENCODING)) {
+            String[] parts = value.split(";");
+            String coding = parts[0].trim();
+            if (coding.equalsIgnoreCase("gzip") || coding.equalsIgnoreCase("x-gzip")) {
+                gzipQuality = Math.max(gzipQuality, quality(parts));
+            } else if (coding.equals("*")) {
+                anyQuality = Math.max(anyQuality, quality(parts));
+            }
+        }
+        return gzipQuality >= 0 ? gzipQuality > 0 : anyQuality > 0;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.length() > 1 && Character.toLowerCase(parameter.charAt(0)) == 'q' && parameter.charAt(1) == '=') {
+                try {
+                    double quality = Double.parseDouble(parameter.substring(2).trim());
+                    return quality >= 0 && quality <= 1 ? quality : 0;
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
     }
 }
@@ -1,11 +1,15 @@
 package com.example.webrtc_signal_server.api;
 
 import com.example.webrtc_signal_server.domain.vote.dto.VoteCastRequest;
+import com.example.webrtc_signal_server.domain.vote.dto.VoteCastResponse;
+import com.example.webrtc_signal_server.domain.vote.dto.VoteCastResult;
 import com.example.webrtc_signal_server.domain.vote.dto.VoteResponse;
 import com.example.webrtc_signal_server.domain.vote.dto.VoteStartRequest;
+import com.example.webrtc_signal_server.domain.vote.service.VoteRoomExecutor;
 import com.example.webrtc_signal_server.domain.vote.service.VoteService;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,28 +19,49 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/api/votes")
 public class VoteController {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final VoteService voteService;
+    private final VoteRoomExecutor voteRoomExecutor;
 
+    // Vote state changes run one at a time per room (see VoteRoomExecutor); the responses complete off the request thread
     @PostMapping("/start")
-    public ResponseEntity<Void> startVote(@RequestBody VoteStartRequest request) throws JsonProcessingException {
-        voteService.startVote(request);
-        return ResponseEntity.ok().build();
+    public CompletableFuture<ResponseEntity<Void>> startVote(@RequestBody VoteStartRequest request) {
+        return voteRoomExecutor.call(request.getRoomName(), () -> {
+            voteService.startVote(request);
+            return null;
+        }).thenApply(ignored -> ResponseEntity.ok().build());
     }
 
+    // The mailbox only counts and queues the cast; the response waits until the row is written
     @PostMapping("/cast")
-    public ResponseEntity<Void> castVote(@RequestBody VoteCastRequest request) {
-        voteService.castVote(request);
-        return ResponseEntity.ok().build();
+    public CompletableFuture<ResponseEntity<VoteCastResponse>> castVote(@RequestBody VoteCastRequest request) {
+        CompletableFuture<VoteCastResult> persisted = voteRoomExecutor
+                .callForVote(request.getVoteId(), () -> voteService.castVote(request))
+                .thenCompose(queued -> queued);
+        return persisted.thenApply(result -> ResponseEntity.ok(new VoteCastResponse(result)));
     }
 
     @PostMapping("/{id}/close")
-    public ResponseEntity<Void> closeVote(@PathVariable("id") Long voteId) throws JsonProcessingException {
-        voteService.closeVote(voteId);
-        return ResponseEntity.ok().build();
+    public CompletableFuture<ResponseEntity<Void>> closeVote(@PathVariable("id") Long voteId) {
+        return voteRoomExecutor.callForVote(voteId, () -> {
+            voteService.closeVote(voteId);
+            return null;
+        }).thenApply(ignored -> ResponseEntity.ok().build());
+    }
+
+    @GetMapping("/{id}/results")
+    public ResponseEntity<Map<String, Long>> getCurrentResults(@PathVariable("id") Long voteId) {
+        return ResponseEntity.ok(voteService.getCurrentResults(voteId));
     }
 
+    // afterId 에 이전 페이지 마지막 투표 id 를 넘기면 다음 페이지 (id 오름차순)
     @GetMapping("/room/{roomName}")
-    public ResponseEntity<List<VoteResponse>> getVotesByRoom(@PathVariable("roomName") String roomName) {
-        return ResponseEntity.ok(voteService.getVotesByRoom(roomName));
+    public ResponseEntity<List<VoteResponse>> getVotesByRoom(
+            @PathVariable("roomName") String roomName,
+            @RequestParam(value = "afterId", defaultValue = "0") long afterId,
+            @RequestParam(value = "size", defaultValue = "100") int size
+    ) {
+        return ResponseEntity.ok(voteService.getVotesByRoom(roomName, afterId, Math.min(Math.max(size, 1), MAX_PAGE_SIZE)));
     }
 }
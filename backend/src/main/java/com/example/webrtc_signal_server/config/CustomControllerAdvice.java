@@ -1,6 +1,12 @@
 package com.example.webrtc_signal_server.config;
 
+import com.example.webrtc_signal_server.domain.session.service.DuplicateRoomNamesException;
+import com.example.webrtc_signal_server.domain.session.service.RoomNameInUseException;
+import com.example.webrtc_signal_server.domain.session.service.UnknownParticipantsException;
+import com.example.webrtc_signal_server.domain.vote.service.VoteCastBusyException;
+import com.example.webrtc_signal_server.global.security.PasswordHashingBusyException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -18,6 +24,43 @@ public class CustomControllerAdvice {
                 .body("접근 권한이 없습니다.");
     }
 
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<String> handlePasswordHashingBusyException(PasswordHashingBusyException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ex.getMessage());
+    }
+
+    @ExceptionHandler(VoteCastBusyException.class)
+    public ResponseEntity<String> handleVoteCastBusyException(VoteCastBusyException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ex.getMessage());
+    }
+
+    @ExceptionHandler(UnknownParticipantsException.class)
+    public ResponseEntity<String> handleUnknownParticipantsException(UnknownParticipantsException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ex.getMessage());
+    }
+
+    @ExceptionHandler(DuplicateRoomNamesException.class)
+    public ResponseEntity<String> handleDuplicateRoomNamesException(DuplicateRoomNamesException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ex.getMessage());
+    }
+
+    @ExceptionHandler(RoomNameInUseException.class)
+    public ResponseEntity<String> handleRoomNameInUseException(RoomNameInUseException ex) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(ex.getMessage());
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<String> handleRuntimeException(RuntimeException ex) {
         log.error("Unexpected runtime exception", ex); // Log the full stack trace
@@ -0,0 +1,40 @@
+package com.example.webrtc_signal_server.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * IDENTITY 에서 TABLE id 로 바꾼 엔티티의 id_generator 값을 기존 최대 id 보다 뒤로 맞춥니다.
+ * pooled optimizer 는 읽은 값 아래로 allocationSize 만큼을 쓰므로 max(id) + 1 + allocationSize 이상으로 둡니다.
+ * 이미 더 큰 값이면 그대로 두므로 매 기동마다 실행해도 안전합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdGeneratorSeeder implements ApplicationRunner {
+
+    private static final String SEED_SQL =
+            "insert into id_generator (sequence_name, next_val) select ?, coalesce(max(%s), 0) + 1 + ? from %s " +
+            "on duplicate key update next_val = greatest(next_val, values(next_val))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        seed("session", "session_entity", "session_id", 50);
+        seed("session_participant", "session_participant_entity", "user_session_id", 500);
+    }
+
+    private void seed(String name, String table, String idColumn, int allocationSize) {
+        try {
+            jdbcTemplate.update(String.format(SEED_SQL, idColumn, table), name, allocationSize);
+        } catch (DataAccessException e) {
+            log.warn("id_generator seed for {} skipped: {}", name, e.getMessage());
+        }
+    }
+}
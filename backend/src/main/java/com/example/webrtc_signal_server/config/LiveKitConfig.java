@@ -1,6 +1,5 @@
 package com.example.webrtc_signal_server.config;
 
-import io.livekit.server.AccessToken;
 import io.livekit.server.EgressServiceClient;
 import io.livekit.server.RoomServiceClient;
 import org.springframework.beans.factory.annotation.Value;
@@ -34,9 +33,4 @@ public class LiveKitConfig {
         EgressServiceClient client = EgressServiceClient.createClient(host, apiKey, apiSecret);
         return client;
     }
-
-    @Bean
-    public AccessToken accessToken() {
-        return new AccessToken(apiKey, apiSecret);
-    }
 }
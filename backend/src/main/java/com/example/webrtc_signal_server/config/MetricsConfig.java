@@ -0,0 +1,17 @@
+package com.example.webrtc_signal_server.config;
+
+import com.example.webrtc_signal_server.util.JWTUtil;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    // Access 토큰 검증 캐시 hit/miss/size 지표 (cache.gets{cache=jwtAccessToken,result=hit|miss})
+    @Bean
+    public MeterBinder jwtAccessTokenCacheMetrics() {
+        return registry -> CaffeineCacheMetrics.monitor(registry, JWTUtil.accessTokenCache(), "jwtAccessToken");
+    }
+}
@@ -1,24 +1,33 @@
 package com.example.webrtc_signal_server.config;
 
 
-import com.example.webrtc_signal_server.domain.jwt.repository.RefreshRepository;
+import com.example.webrtc_signal_server.domain.jwt.service.RefreshTokenPurgeService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
-
 @Component
 public class ScheduleConfig {
-    private final RefreshRepository refreshRepository;
+    private final RefreshTokenPurgeService refreshTokenPurgeService;
+
+    public ScheduleConfig(RefreshTokenPurgeService refreshTokenPurgeService) {
+        this.refreshTokenPurgeService = refreshTokenPurgeService;
+    }
 
-    public ScheduleConfig(RefreshRepository refreshRepository) {
-        this.refreshRepository = refreshRepository;
+    // @Scheduled 작업용 스케줄러 (purge 의 chunk 간 대기가 outbox relay 를 막지 않도록 스레드 여러 개)
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${schedule.pool-size:4}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("schedule-");
+        return scheduler;
     }
 
-    // Refresh 토큰 저장소 8일 지난 토큰 삭제
-    @Scheduled(cron = "0 0 3 * * *")
+    // Refresh 토큰 저장소 8일 지난 토큰 삭제 (기본 5분마다 chunk 단위로 점진 삭제)
+    @Scheduled(fixedDelayString = "${jwt.refresh.purge.interval-ms:300000}", initialDelayString = "${jwt.refresh.purge.initial-delay-ms:60000}")
     public void refreshEntityTtlSchedule() {
-        LocalDateTime cutoff = LocalDateTime.now().minusDays(8);
-        refreshRepository.deleteByCreatedDateBefore(cutoff);
+        refreshTokenPurgeService.purgeExpired();
     }
 }
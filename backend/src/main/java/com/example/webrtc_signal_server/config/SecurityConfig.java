@@ -4,9 +4,12 @@ import com.example.webrtc_signal_server.domain.jwt.service.JwtService;
 import com.example.webrtc_signal_server.domain.user.entity.UserRoleType;
 import com.example.webrtc_signal_server.filter.JWTFilter;
 import com.example.webrtc_signal_server.filter.LoginFilter;
+import com.example.webrtc_signal_server.global.security.BoundedPasswordEncoder;
 import com.example.webrtc_signal_server.handler.RefreshTokenLogoutHandler;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -19,7 +22,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -63,10 +65,17 @@ public class SecurityConfig {
                 .build();
     }
 
-    // 비밀번호 단방향(BCrypt) 암호화용 Bean
-    @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    // 비밀번호 단방향(BCrypt) 암호화용 Bean (전용 스레드 풀 + 큐 제한)
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${security.password.bcrypt-strength:10}") int strength,
+            @Value("${security.password.hash-queue-capacity:64}") int queueCapacity,
+            @Value("${security.password.hash-timeout-ms:5000}") long timeoutMillis,
+            @Value("${security.password.retry-after-seconds:1}") long retryAfterSeconds
+    ) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(strength, threads, queueCapacity, timeoutMillis, retryAfterSeconds, meterRegistry);
     }
     //CORS Bean
     @Bean
@@ -119,7 +128,7 @@ public class SecurityConfig {
                 .requestMatchers("/jwt/exchange", "/jwt/refresh").permitAll()
                 .requestMatchers(HttpMethod.POST, "/user/exist", "/user", "/api/votes/**").permitAll()
                 .requestMatchers(HttpMethod.PATCH, "/api/sessions/status").permitAll()
-                .requestMatchers(HttpMethod.GET, "/api/sessions/*/status").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/sessions/*/status", "/api/sessions/*/status/stream").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/sessions/*/recap").permitAll()
                 .requestMatchers(HttpMethod.GET, "/user").hasRole(UserRoleType.USER.name())
                 .requestMatchers(HttpMethod.PUT, "/user").hasRole(UserRoleType.USER.name())
@@ -0,0 +1,26 @@
+package com.example.webrtc_signal_server.config;
+
+import org.apache.coyote.AbstractProtocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class TomcatConfig {
+
+    // 세션 상태 SSE 는 구독 하나가 연결 하나를 계속 잡음 (servlet async 라 스레드는 잡지 않음)
+    // Tomcat 기본 max-connections(8192) 에 이르면 새 연결은 accept-count 만큼만 대기하고 거절되므로 기본값을 올림
+    // 프로세스의 fd 한도 (ulimit -n) 도 이 값보다 커야 함
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> maxConnectionsCustomizer(
+            @Value("${server.tomcat.max-connections:20000}") int maxConnections
+    ) {
+        return factory -> factory.addConnectorCustomizers(connector -> {
+            if (connector.getProtocolHandler() instanceof AbstractProtocol<?> protocol) {
+                protocol.setMaxConnections(maxConnections);
+            }
+        });
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.webrtc_signal_server.domain.jwt.dto;
+
+import java.time.Instant;
+
+// 서명 검증이 끝난 JWT 클레임 (sub, role, type, exp)
+public record JWTPrincipal(String username, String role, String type, Instant expiresAt) {
+
+    public boolean isAccess() {
+        return "access".equals(type);
+    }
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -12,7 +12,9 @@ import java.time.LocalDateTime;
 
 @Entity
 @EntityListeners(AuditingEntityListener.class)
-@Table(name = "refresh_token")
+@Table(name = "refresh_token",
+        uniqueConstraints = @UniqueConstraint(name = "uk_refresh_token_hash", columnNames = "refresh_hash"),
+        indexes = @Index(name = "idx_refresh_token_created_date", columnList = "created_date"))
 @Getter
 @Builder
 @NoArgsConstructor
@@ -26,8 +28,9 @@ public class RefreshEntity {
     @Column(name = "username", nullable = false)
     private String username;
 
-    @Column(name = "refresh", nullable = false, length = 512)
-    private String refresh;
+    // 토큰 원문 대신 SHA-256 digest(hex 64자) 저장, 예전 refresh 컬럼은 backend/db/refresh_token_hash.sql 로 옮김
+    @Column(name = "refresh_hash", nullable = false, length = 64, columnDefinition = "char(64)")
+    private String refreshHash;
 
     @CreatedDate
     @Column(name = "created_date", nullable = false)
@@ -1,22 +1,61 @@
 package com.example.webrtc_signal_server.domain.jwt.repository;
 
 import com.example.webrtc_signal_server.domain.jwt.entity.RefreshEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 public interface RefreshRepository extends JpaRepository<RefreshEntity, Long> {
 
-    Boolean existsByRefresh(String refreshToken);
+    Boolean existsByRefreshHash(String refreshHash);
 
+    // 삭제된 row 수 반환 (in-memory 필터 갱신 여부 판단용)
     @Transactional
-    void deleteByRefresh(String refresh);
+    @Modifying
+    @Query("delete from RefreshEntity r where r.refreshHash = :refreshHash")
+    int deleteByRefreshHash(@Param("refreshHash") String refreshHash);
+
+    // Refresh 토큰 Rotate (조건부 교체, 기존 토큰이 없으면 0 반환)
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update RefreshEntity r set r.refreshHash = :newHash, r.createdDate = :createdDate where r.refreshHash = :oldHash")
+    int rotateRefreshHash(@Param("oldHash") String oldHash, @Param("newHash") String newHash, @Param("createdDate") LocalDateTime createdDate);
 
     @Transactional
     void deleteByUsername(String username);
 
-    // 특정일 지난 refresh 토큰 삭제
+    // 삭제할 사용자의 토큰을 행 잠금으로 조회 (커밋 전까지 rotate/로그아웃이 같은 행을 건드리지 못함)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from RefreshEntity r where r.username = :username")
+    List<RefreshEntity> findAllByUsernameForUpdate(@Param("username") String username);
+
+    // 특정일 지난 refresh 토큰 chunk 를 행 잠금으로 조회 (keyset, id 오름차순), 같은 트랜잭션에서 삭제
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from RefreshEntity r where r.createdDate < :cutoff and r.id > :lastId order by r.id")
+    List<RefreshEntity> findExpiredForUpdate(@Param("cutoff") LocalDateTime cutoff, @Param("lastId") Long lastId, Pageable pageable);
+
+    // chunk 단위 삭제 (영속성 컨텍스트에 로딩하지 않는 bulk delete)
     @Transactional
-    void deleteByCreatedDateBefore(LocalDateTime createdDate);
+    @Modifying
+    @Query("delete from RefreshEntity r where r.id in :ids")
+    int deleteAllByIdIn(@Param("ids") List<Long> ids);
+
+    long countByCreatedDateBefore(LocalDateTime createdDate);
+
+    // in-memory 필터 재구성용 keyset 조회 (id 오름차순)
+    @Query("select r.id as id, r.refreshHash as refreshHash from RefreshEntity r where r.id > :lastId order by r.id")
+    List<RefreshHashView> findHashesAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    interface RefreshHashView {
+        Long getId();
+        String getRefreshHash();
+    }
 }
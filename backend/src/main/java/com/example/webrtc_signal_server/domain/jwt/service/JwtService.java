@@ -1,5 +1,6 @@
 package com.example.webrtc_signal_server.domain.jwt.service;
 
+import com.example.webrtc_signal_server.domain.jwt.dto.JWTPrincipal;
 import com.example.webrtc_signal_server.domain.jwt.dto.JWTResponseDTO;
 import com.example.webrtc_signal_server.domain.jwt.dto.RefreshRequestDTO;
 import com.example.webrtc_signal_server.domain.jwt.entity.RefreshEntity;
@@ -10,14 +11,26 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class JwtService {
 
     private final RefreshRepository refreshRepository;
+    private final RefreshTokenFilter refreshTokenFilter;
+
+    // Rotate 진행 중인 Refresh 토큰 digest (동일 토큰 동시 요청 fail-fast 용)
+    private final Set<String> rotatingHashes = ConcurrentHashMap.newKeySet();
 
-    public JwtService(RefreshRepository refreshRepository) {
+    public JwtService(RefreshRepository refreshRepository, RefreshTokenFilter refreshTokenFilter) {
         this.refreshRepository = refreshRepository;
+        this.refreshTokenFilter = refreshTokenFilter;
     }
 
 //    // 소셜 로그인 성공 후 쿠키(Refresh) -> 헤더 방식으로 응답
@@ -82,65 +95,133 @@ public class JwtService {
 //    }
 
     // Refresh 토큰으로 Access 토큰 재발급 로직 (Rotate 포함)
+    // 기존 토큰 -> 신규 토큰 교체는 조건부 UPDATE 한 문장으로 처리 (동시 요청 중 하나만 성공)
     @Transactional
     public JWTResponseDTO refreshRotate(RefreshRequestDTO dto) {
 
         String refreshToken = dto.getRefreshToken();
 
-        // Refresh 토큰 검증
-        Boolean isValid = JWTUtil.isValid(refreshToken, false);
-        if (!isValid) {
-            throw new RuntimeException("유효하지 않은 refreshToken입니다.");
-        }
+        // Refresh 토큰 검증 + 정보 추출 (한 번만 파싱)
+        JWTPrincipal principal = JWTUtil.verify(refreshToken, false)
+                .orElseThrow(() -> new RuntimeException("유효하지 않은 refreshToken입니다."));
 
-        // RefreshEntity 존재 확인 (화이트리스트)
-        if (!existsRefresh(refreshToken)) {
+        // 화이트리스트 필터에 없으면 DB 조회 없이 거절
+        String refreshHash = JWTUtil.digest(refreshToken);
+        if (!refreshTokenFilter.mightContain(refreshHash)) {
             throw new RuntimeException("유효하지 않은 refreshToken입니다.");
         }
 
-        // 정보 추출
-        String username = JWTUtil.getUsername(refreshToken);
-        String role = JWTUtil.getRole(refreshToken);
-
-        // 토큰 생성
-        String newAccessToken = JWTUtil.createJWT(username, role, true);
-        String newRefreshToken = JWTUtil.createJWT(username, role, false);
+        // 같은 토큰으로 진행 중인 Rotate 가 있으면 DB 락 대기 없이 즉시 실패 (트랜잭션이 끝날 때까지 유지)
+        if (!rotatingHashes.add(refreshHash)) {
+            throw new RuntimeException("이미 사용 중인 refreshToken입니다.");
+        }
 
-        // 기존 Refresh 토큰 DB 삭제 후 신규 추가
-        RefreshEntity newRefreshEntity = RefreshEntity.builder()
-                .username(username)
-                .refresh(newRefreshToken)
-                .build();
+        String newRefreshHash = null;
+        boolean rotated = false;
+        try {
+            // 정보 추출
+            String username = principal.username();
+            String role = principal.role();
+
+            // 토큰 생성
+            String newAccessToken = JWTUtil.createJWT(username, role, true);
+            String newRefreshToken = JWTUtil.createJWT(username, role, false);
+            newRefreshHash = JWTUtil.digest(newRefreshToken);
+
+            // 신규 토큰을 먼저 필터에 반영 (커밋 전에 다른 요청이 보더라도 false negative 가 없도록)
+            refreshTokenFilter.add(newRefreshHash);
+
+            // 기존 Refresh 토큰 -> 신규 토큰 교체 (화이트리스트에 없으면 0 row)
+            rotated = refreshRepository.rotateRefreshHash(refreshHash, newRefreshHash, LocalDateTime.now()) > 0;
+            if (!rotated) {
+                throw new RuntimeException("유효하지 않은 refreshToken입니다.");
+            }
+
+            return new JWTResponseDTO(newAccessToken, newRefreshToken);
+        } finally {
+            afterRotation(refreshHash, newRefreshHash, rotated);
+        }
+    }
 
-        removeRefresh(refreshToken);
-        refreshRepository.save(newRefreshEntity);
+    // 필터는 트랜잭션 결과대로 맞춤 : 커밋되면 기존 digest 를, 롤백되면 먼저 넣어 둔 신규 digest 를 뺀다
+    // 결과를 알 수 없으면 둘 다 남겨 false positive 쪽으로 둔다
+    private void afterRotation(String refreshHash, String newRefreshHash, boolean rotated) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            completeRotation(refreshHash, newRefreshHash, rotated, TransactionSynchronization.STATUS_COMMITTED);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                completeRotation(refreshHash, newRefreshHash, rotated, status);
+            }
+        });
+    }
 
-        return new JWTResponseDTO(newAccessToken, newRefreshToken);
+    private void completeRotation(String refreshHash, String newRefreshHash, boolean rotated, int status) {
+        rotatingHashes.remove(refreshHash);
+        if (newRefreshHash == null || status == TransactionSynchronization.STATUS_UNKNOWN) return;
+        if (rotated && status == TransactionSynchronization.STATUS_COMMITTED) {
+            refreshTokenFilter.remove(refreshHash);
+        } else {
+            refreshTokenFilter.remove(newRefreshHash);
+        }
     }
 
     // JWT Refresh 토큰 발급 후 저장 메소드
     @Transactional
     public void addRefresh(String username, String refreshToken) {
+        String refreshHash = JWTUtil.digest(refreshToken);
         RefreshEntity entity = RefreshEntity.builder()
                 .username(username)
-                .refresh(refreshToken)
+                .refreshHash(refreshHash)
                 .build();
         refreshRepository.save(entity);
+        refreshTokenFilter.add(refreshHash);
     }
 
-    // JWT Refresh 존재 확인 메소드
+    // JWT Refresh 존재 확인 메소드 (필터에 없으면 DB 조회 생략)
     @Transactional(readOnly = true)
     public Boolean existsRefresh(String refreshToken) {
-        return refreshRepository.existsByRefresh(refreshToken);
+        String refreshHash = JWTUtil.digest(refreshToken);
+        if (!refreshTokenFilter.mightContain(refreshHash)) {
+            return false;
+        }
+        return refreshRepository.existsByRefreshHash(refreshHash);
     }
 
     // JWT Refresh 토큰 삭제 메소드
     public void removeRefresh(String refreshToken) {
-        refreshRepository.deleteByRefresh(refreshToken);
+        String refreshHash = JWTUtil.digest(refreshToken);
+        if (!refreshTokenFilter.mightContain(refreshHash)) {
+            return;
+        }
+        if (refreshRepository.deleteByRefreshHash(refreshHash) > 0) {
+            afterCommit(() -> refreshTokenFilter.remove(refreshHash));
+        }
     }
 
     // 특정 유저 Refresh 토큰 모두 삭제 (탈퇴)
+    // 행 잠금으로 조회한 토큰만 지워지므로 커밋 후 그 digest 들을 필터에서 뺀다
+    @Transactional
     public void removeRefreshUser(String username) {
+        List<String> refreshHashes = refreshRepository.findAllByUsernameForUpdate(username).stream()
+                .map(RefreshEntity::getRefreshHash)
+                .toList();
         refreshRepository.deleteByUsername(username);
+        afterCommit(() -> refreshHashes.forEach(refreshTokenFilter::remove));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 }
@@ -0,0 +1,111 @@
+package com.example.webrtc_signal_server.domain.jwt.service;
+
+import com.example.webrtc_signal_server.domain.jwt.repository.RefreshRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Refresh 토큰 화이트리스트 앞단의 in-memory counting bloom filter.
+ * mightContain 이 false 면 DB 조회 없이 거절하고, true 면 DB 에서 확정한다.
+ * 카운터가 실제보다 큰 쪽(false positive)으로만 어긋나도록 유지한다.
+ */
+@Slf4j
+@Component
+public class RefreshTokenFilter {
+
+    private static final int REBUILD_BATCH_SIZE = 10_000;
+
+    private final RefreshRepository refreshRepository;
+    private final AtomicIntegerArray counters;
+    private final int hashCount;
+
+    // 시작 시 재구성 완료 전에는 모든 토큰을 DB 로 넘긴다
+    private volatile boolean ready = false;
+
+    public RefreshTokenFilter(
+            RefreshRepository refreshRepository,
+            @Value("${jwt.refresh.filter.expected-insertions:100000}") long expectedInsertions,
+            @Value("${jwt.refresh.filter.fpp:0.01}") double fpp
+    ) {
+        this.refreshRepository = refreshRepository;
+
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        int size = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(64, bits));
+        this.counters = new AtomicIntegerArray(size);
+        this.hashCount = Math.max(1, (int) Math.round((double) size / expectedInsertions * Math.log(2)));
+    }
+
+    // 애플리케이션 기동 후 DB 화이트리스트로 필터 재구성
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long lastId = 0L;
+        long loaded = 0L;
+
+        while (true) {
+            List<RefreshRepository.RefreshHashView> batch =
+                    refreshRepository.findHashesAfter(lastId, PageRequest.ofSize(REBUILD_BATCH_SIZE));
+            if (batch.isEmpty()) break;
+
+            for (RefreshRepository.RefreshHashView row : batch) {
+                add(row.getRefreshHash());
+            }
+            loaded += batch.size();
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+
+        ready = true;
+        log.info("Refresh token filter rebuilt: {} tokens, {} counters, {} hashes", loaded, counters.length(), hashCount);
+    }
+
+    public void add(String refreshHash) {
+        long h1 = hash1(refreshHash);
+        long h2 = hash2(refreshHash);
+        for (int i = 0; i < hashCount; i++) {
+            counters.incrementAndGet(index(h1, h2, i));
+        }
+    }
+
+    // DB 에서 실제로 삭제된 토큰에 대해서만 호출해야 한다
+    // 재구성 중에는 무시 : 아직 읽지 않은 (그리고 이미 지워져서 읽지 않을) 토큰을 빼면 다른 토큰의 카운터가 줄어 false negative 가 된다.
+    // 이미 읽은 토큰이면 카운터가 남지만 false positive 쪽이라 DB 조회로 걸러진다.
+    public void remove(String refreshHash) {
+        if (!ready) return;
+
+        long h1 = hash1(refreshHash);
+        long h2 = hash2(refreshHash);
+        for (int i = 0; i < hashCount; i++) {
+            counters.getAndUpdate(index(h1, h2, i), c -> c > 0 ? c - 1 : 0);
+        }
+    }
+
+    public boolean mightContain(String refreshHash) {
+        if (!ready) return true;
+
+        long h1 = hash1(refreshHash);
+        long h2 = hash2(refreshHash);
+        for (int i = 0; i < hashCount; i++) {
+            if (counters.get(index(h1, h2, i)) == 0) return false;
+        }
+        return true;
+    }
+
+    private int index(long h1, long h2, int i) {
+        return (int) Math.floorMod(h1 + i * h2, (long) counters.length());
+    }
+
+    // digest 가 이미 SHA-256 이므로 앞/뒤 64bit 를 그대로 double hashing 에 사용
+    private static long hash1(String refreshHash) {
+        return Long.parseUnsignedLong(refreshHash.substring(0, 16), 16);
+    }
+
+    private static long hash2(String refreshHash) {
+        return Long.parseUnsignedLong(refreshHash.substring(16, 32), 16) | 1L;
+    }
+}
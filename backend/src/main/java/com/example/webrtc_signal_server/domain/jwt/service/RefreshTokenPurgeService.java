@@ -0,0 +1,121 @@
+package com.example.webrtc_signal_server.domain.jwt.service;
+
+import com.example.webrtc_signal_server.domain.jwt.entity.RefreshEntity;
+import com.example.webrtc_signal_server.domain.jwt.repository.RefreshRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 보존 기간이 지난 Refresh 토큰을 id keyset 순서의 작은 chunk 로 나눠 삭제한다.
+ * chunk 마다 별도 트랜잭션이므로 락 보유 시간과 힙 사용량이 chunk 크기로 제한된다.
+ * chunk 는 행 잠금으로 조회 후 삭제하므로 삭제된 토큰이 정확히 알려지고, 커밋 후 그 digest 들을 in-memory 필터에서 뺀다.
+ */
+@Slf4j
+@Service
+public class RefreshTokenPurgeService {
+
+    private final RefreshRepository refreshRepository;
+    private final RefreshTokenFilter refreshTokenFilter;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionDays;
+    private final int chunkSize;
+    private final long pauseMillis;
+    private final int maxChunksPerRun;
+
+    private final Counter purgedRows;
+    private final Timer chunkLatency;
+    private final AtomicLong backlog = new AtomicLong();
+
+    public RefreshTokenPurgeService(
+            RefreshRepository refreshRepository,
+            RefreshTokenFilter refreshTokenFilter,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${jwt.refresh.purge.retention-days:8}") int retentionDays,
+            @Value("${jwt.refresh.purge.chunk-size:500}") int chunkSize,
+            @Value("${jwt.refresh.purge.pause-ms:50}") long pauseMillis,
+            @Value("${jwt.refresh.purge.max-chunks-per-run:200}") int maxChunksPerRun
+    ) {
+        this.refreshRepository = refreshRepository;
+        this.refreshTokenFilter = refreshTokenFilter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionDays = retentionDays;
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+        this.maxChunksPerRun = maxChunksPerRun;
+
+        this.purgedRows = Counter.builder("refresh_token.purge.rows")
+                .description("Expired refresh tokens deleted")
+                .register(meterRegistry);
+        this.chunkLatency = Timer.builder("refresh_token.purge.chunk")
+                .description("Latency of one purge chunk (select + delete)")
+                .register(meterRegistry);
+        Gauge.builder("refresh_token.purge.backlog", backlog, AtomicLong::get)
+                .description("Expired refresh tokens still waiting to be purged")
+                .register(meterRegistry);
+    }
+
+    // 한 번의 실행에서 최대 maxChunksPerRun 개 chunk 삭제 후 종료 (남은 건 다음 실행에서 이어서)
+    public long purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        long lastId = 0L;
+        long purged = 0L;
+
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            Timer.Sample sample = Timer.start();
+
+            long afterId = lastId;
+            List<RefreshEntity> expired = transactionTemplate.execute(status -> {
+                List<RefreshEntity> rows = refreshRepository.findExpiredForUpdate(cutoff, afterId, PageRequest.ofSize(chunkSize));
+                if (!rows.isEmpty()) {
+                    refreshRepository.deleteAllByIdIn(rows.stream().map(RefreshEntity::getId).toList());
+                }
+                return rows;
+            });
+            sample.stop(chunkLatency);
+            if (expired.isEmpty()) break;
+
+            // 커밋됨 : 잠근 행만 지웠으므로 다른 경로(rotate/로그아웃)가 같은 digest 를 빼는 일은 없음
+            for (RefreshEntity row : expired) {
+                refreshTokenFilter.remove(row.getRefreshHash());
+            }
+
+            purged += expired.size();
+            purgedRows.increment(expired.size());
+            lastId = expired.get(expired.size() - 1).getId();
+
+            if (expired.size() < chunkSize) break;
+
+            if (!pause()) break;
+        }
+
+        backlog.set(refreshRepository.countByCreatedDateBefore(cutoff));
+        if (purged > 0) {
+            log.info("Purged {} expired refresh tokens (backlog {})", purged, backlog.get());
+        }
+        return purged;
+    }
+
+    private boolean pause() {
+        if (pauseMillis <= 0) return true;
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
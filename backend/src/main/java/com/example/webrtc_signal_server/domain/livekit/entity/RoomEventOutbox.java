@@ -0,0 +1,68 @@
+package com.example.webrtc_signal_server.domain.livekit.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * LiveKit 방으로 보낼 데이터 이벤트 (transactional outbox).
+ * 도메인 변경과 같은 트랜잭션에서 저장되고, RoomEventRelay 가 커밋 이후 방 단위 순서대로 전송한다.
+ */
+@Getter
+@Entity
+@Table(name = "room_event_outbox",
+        indexes = {
+                // relay 조회 : id 순서로 훑으면서 백오프 중인 행은 index 안에서 걸러냄
+                @Index(name = "idx_room_event_outbox_status_id_next", columnList = "status, id, next_attempt_at"),
+                @Index(name = "idx_room_event_outbox_room_id", columnList = "room_name, id"),
+                // 같은 방의 앞선 이벤트가 백오프 중인지 확인
+                @Index(name = "idx_room_event_outbox_room_status_next", columnList = "room_name, status, next_attempt_at")
+        })
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@EntityListeners(AuditingEntityListener.class)
+public class RoomEventOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "room_name", nullable = false)
+    private String roomName;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private RoomEventStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 512)
+    private String lastError;
+
+    private LocalDateTime sentAt;
+
+    @CreatedDate
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    public static RoomEventOutbox of(String roomName, String payload) {
+        RoomEventOutbox event = new RoomEventOutbox();
+        event.roomName = roomName;
+        event.payload = payload;
+        event.status = RoomEventStatus.PENDING;
+        event.attempts = 0;
+        event.nextAttemptAt = LocalDateTime.now();
+        return event;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.webrtc_signal_server.domain.livekit.entity;
+
+public enum RoomEventStatus {
+    PENDING,
+    SENT,
+    DEAD
+}
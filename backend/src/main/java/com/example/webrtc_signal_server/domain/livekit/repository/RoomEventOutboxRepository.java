@@ -0,0 +1,48 @@
+package com.example.webrtc_signal_server.domain.livekit.repository;
+
+import com.example.webrtc_signal_server.domain.livekit.entity.RoomEventOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RoomEventOutboxRepository extends JpaRepository<RoomEventOutbox, Long> {
+
+    // 지금 보낼 수 있는 PENDING 이벤트 (id 순서) : 백오프 중인 이벤트와, 방 순서를 지키기 위해 그 뒤의 같은 방 이벤트는 제외
+    // 백오프 중인 행이 앞에 쌓여도 배치가 그 행들로 채워지지 않음
+    @Query("select e from RoomEventOutbox e " +
+            "where e.status = com.example.webrtc_signal_server.domain.livekit.entity.RoomEventStatus.PENDING " +
+            "and e.nextAttemptAt <= :now " +
+            "and not exists (select b.id from RoomEventOutbox b " +
+            "where b.roomName = e.roomName " +
+            "and b.status = com.example.webrtc_signal_server.domain.livekit.entity.RoomEventStatus.PENDING " +
+            "and b.nextAttemptAt > :now and b.id < e.id) " +
+            "order by e.id")
+    List<RoomEventOutbox> findDueBatch(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("update RoomEventOutbox e set e.status = com.example.webrtc_signal_server.domain.livekit.entity.RoomEventStatus.SENT, e.sentAt = :sentAt where e.id in :ids")
+    int markSent(@Param("ids") List<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+
+    @Transactional
+    @Modifying
+    @Query("update RoomEventOutbox e set e.attempts = :attempts, e.nextAttemptAt = :nextAttemptAt, e.lastError = :lastError where e.id = :id")
+    int markRetry(@Param("id") Long id, @Param("attempts") int attempts,
+                  @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("lastError") String lastError);
+
+    @Transactional
+    @Modifying
+    @Query("update RoomEventOutbox e set e.status = com.example.webrtc_signal_server.domain.livekit.entity.RoomEventStatus.DEAD, e.attempts = :attempts, e.lastError = :lastError where e.id = :id")
+    int markDead(@Param("id") Long id, @Param("attempts") int attempts, @Param("lastError") String lastError);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RoomEventOutbox e where e.status = com.example.webrtc_signal_server.domain.livekit.entity.RoomEventStatus.SENT and e.sentAt < :sentAt")
+    int deleteSentBefore(@Param("sentAt") LocalDateTime sentAt);
+}
@@ -1,10 +1,9 @@
 package com.example.webrtc_signal_server.domain.livekit.service;
 
 import com.example.webrtc_signal_server.domain.livekit.dto.LiveKitRequestDTO;
-import io.livekit.server.*;
-import livekit.LivekitEgress;
+import io.livekit.server.EgressServiceClient;
+import io.livekit.server.RoomServiceClient;
 import livekit.LivekitModels;
-import livekit.LivekitRtc;
 import org.springframework.stereotype.Service;
 import retrofit2.Call;
 import retrofit2.Response;
@@ -17,12 +16,12 @@ public class LiveKitService {
 
     public RoomServiceClient roomServiceClient;
     public EgressServiceClient egressServiceClient;
-    public AccessToken accessToken;
+    public LiveKitTokenService liveKitTokenService;
 
-    public LiveKitService(RoomServiceClient roomServiceClient, EgressServiceClient egressServiceClient, AccessToken accessToken) {
+    public LiveKitService(RoomServiceClient roomServiceClient, EgressServiceClient egressServiceClient, LiveKitTokenService liveKitTokenService) {
         this.roomServiceClient = roomServiceClient;
         this.egressServiceClient = egressServiceClient;
-        this.accessToken = accessToken;
+        this.liveKitTokenService = liveKitTokenService;
     }
 
     /**
@@ -40,38 +39,28 @@ public class LiveKitService {
     /**
      * 클라이언트가 LiveKit 방에 접속하는 데 사용할 액세스 토큰을 생성합니다.
      * 이 토큰은 서버 SDK가 로컬에서 JWT 방식으로 생성하며, LiveKit 서버에 요청을 보내지 않습니다.
+     * 요청마다 별도의 AccessToken 으로 서명하므로 동시 호출에도 안전합니다.
      */
     public String createLiveKitToken(LiveKitRequestDTO dto) {
-        // 1. AccessToken 객체 주입 (API Key와 Secret을 사용하여 서명 준비)
-
-        // 2. 토큰 메타데이터 및 권한 설정
-        accessToken.setName(dto.getName());
-        accessToken.setIdentity(dto.getIdentity());
-        accessToken.setMetadata(dto.getMetadata());
-
-        accessToken.addGrants(new RoomJoin(true), new RoomName(dto.getRoomName()));
-
-        // 4. JWT 문자열로 서명하고 변환
-        return accessToken.toJwt();
+        return liveKitTokenService.createToken(dto);
     }
 
     /**
      * 특정 방의 모든 참가자에게 데이터를 전송합니다.
+     * 도메인 트랜잭션 안에서 직접 호출하지 말고 {@link RoomEventPublisher} 를 통해 outbox 에 기록하세요.
      * @param roomName 데이터를 보낼 방의 이름
      * @param data 전송할 문자열 데이터
+     * @throws IOException 네트워크 오류 또는 LiveKit 서버가 실패 응답을 반환한 경우
      */
-    public void sendDataToRoom(String roomName, String data) {
-        try {
-            byte[] dataPayload = data.getBytes(StandardCharsets.UTF_8);
+    public void sendDataToRoom(String roomName, String data) throws IOException {
+        byte[] dataPayload = data.getBytes(StandardCharsets.UTF_8);
 
-            // The correct method signature for this SDK version
-            Call<Void> call = roomServiceClient.sendData(roomName, dataPayload, LivekitModels.DataPacket.Kind.RELIABLE);
+        // The correct method signature for this SDK version
+        Call<Void> call = roomServiceClient.sendData(roomName, dataPayload, LivekitModels.DataPacket.Kind.RELIABLE);
 
-            // 비동기 실행을 원하면 .enqueue() 사용
-            call.execute();
-        } catch (IOException e) {
-            // 실제 프로덕션 코드에서는 로깅 프레임워크 사용을 권장합니다.
-            e.printStackTrace();
+        Response<Void> response = call.execute();
+        if (!response.isSuccessful()) {
+            throw new IOException("LiveKit sendData failed: HTTP " + response.code());
         }
     }
     // 트랙 Egress 시작 API 호출 시뮬레이션
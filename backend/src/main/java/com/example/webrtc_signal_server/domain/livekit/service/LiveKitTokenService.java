@@ -0,0 +1,69 @@
+package com.example.webrtc_signal_server.domain.livekit.service;
+
+import com.example.webrtc_signal_server.domain.livekit.dto.LiveKitRequestDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.livekit.server.AccessToken;
+import io.livekit.server.RoomJoin;
+import io.livekit.server.RoomName;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * LiveKit 접속 토큰 발급.
+ * 요청마다 새 AccessToken 을 만들어 서명하므로 공유 상태가 없고 여러 스레드에서 동시에 서명할 수 있다.
+ * 같은 (identity, room, name, metadata) 로 짧은 시간 안에 다시 요청하면 (재접속 폭주) 이미 서명한 토큰을 재사용한다.
+ */
+@Service
+public class LiveKitTokenService {
+
+    private final String apiKey;
+    private final String apiSecret;
+    private final long ttlMillis;
+    private final Cache<TokenKey, String> tokenCache;
+
+    public LiveKitTokenService(
+            @Value("${livekit.api.key}") String apiKey,
+            @Value("${livekit.api.secret}") String apiSecret,
+            @Value("${livekit.token.ttl-seconds:21600}") long ttlSeconds,
+            @Value("${livekit.token.cache-fraction:0.1}") double cacheFraction,
+            @Value("${livekit.token.cache-max-size:10000}") long cacheMaxSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.apiKey = apiKey;
+        this.apiSecret = apiSecret;
+        this.ttlMillis = Duration.ofSeconds(ttlSeconds).toMillis();
+
+        // 캐시된 토큰도 최소 TTL * (1 - fraction) 만큼은 유효하다
+        long cacheMillis = (long) (ttlMillis * cacheFraction);
+        this.tokenCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofMillis(Math.max(0L, cacheMillis)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, tokenCache, "livekitToken");
+    }
+
+    public String createToken(LiveKitRequestDTO dto) {
+        TokenKey key = new TokenKey(dto.getIdentity(), dto.getRoomName(), dto.getName(), dto.getMetadata());
+        return tokenCache.get(key, this::mint);
+    }
+
+    private String mint(TokenKey key) {
+        AccessToken token = new AccessToken(apiKey, apiSecret);
+        token.setName(key.name());
+        token.setIdentity(key.identity());
+        token.setMetadata(key.metadata());
+        token.setTtl(ttlMillis);
+        token.addGrants(new RoomJoin(true), new RoomName(key.roomName()));
+        return token.toJwt();
+    }
+
+    // record 의 hashCode 가 metadata 해시를 포함하고, equals 로 원문까지 비교하므로 충돌 시에도 안전
+    private record TokenKey(String identity, String roomName, String name, String metadata) {
+    }
+}
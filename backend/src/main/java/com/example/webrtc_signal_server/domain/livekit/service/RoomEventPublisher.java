@@ -0,0 +1,38 @@
+package com.example.webrtc_signal_server.domain.livekit.service;
+
+import com.example.webrtc_signal_server.domain.livekit.entity.RoomEventOutbox;
+import com.example.webrtc_signal_server.domain.livekit.repository.RoomEventOutboxRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 방 이벤트를 outbox 테이블에 기록합니다.
+ * 호출한 트랜잭션과 함께 커밋/롤백되며, 실제 LiveKit 전송은 {@link RoomEventRelay} 가 커밋 이후에 수행합니다.
+ */
+@Service
+public class RoomEventPublisher {
+
+    private final RoomEventOutboxRepository roomEventOutboxRepository;
+    private final RoomEventRelay roomEventRelay;
+
+    public RoomEventPublisher(RoomEventOutboxRepository roomEventOutboxRepository, RoomEventRelay roomEventRelay) {
+        this.roomEventOutboxRepository = roomEventOutboxRepository;
+        this.roomEventRelay = roomEventRelay;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(String roomName, String payloadJson) {
+        roomEventOutboxRepository.save(RoomEventOutbox.of(roomName, payloadJson));
+
+        // 커밋되면 relay 에 알려 coalescing window 이후 바로 전송
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                roomEventRelay.requestFlush();
+            }
+        });
+    }
+}
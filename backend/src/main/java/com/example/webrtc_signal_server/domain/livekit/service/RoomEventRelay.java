@@ -0,0 +1,245 @@
+package com.example.webrtc_signal_server.domain.livekit.service;
+
+import com.example.webrtc_signal_server.domain.livekit.entity.RoomEventOutbox;
+import com.example.webrtc_signal_server.domain.livekit.repository.RoomEventOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * outbox 에 쌓인 방 이벤트를 LiveKit 으로 전달합니다.
+ * - 배치 단위로 읽어 방별로 묶고, 방 안에서는 id 순서대로 보냅니다 (앞 이벤트가 재시도 대기 중이면 뒤 이벤트도 대기).
+ * - 서로 다른 방은 병렬로 전송하며, HTTP 호출 동안 DB 트랜잭션을 잡지 않습니다.
+ * - 커밋 알림 후 window(기본 20ms) 동안 모인 같은 방 이벤트는 {@link RoomPacketCoalescer} 로 한 패킷에 묶습니다.
+ * - 실패 시 지수 백오프로 재시도하고, 최대 횟수를 넘기면 DEAD 로 표시합니다.
+ * 단일 인스턴스에서 relay 가 하나만 돈다고 가정합니다.
+ */
+@Slf4j
+@Component
+public class RoomEventRelay {
+
+    private final RoomEventOutboxRepository roomEventOutboxRepository;
+    private final LiveKitService liveKitService;
+    private final RoomPacketCoalescer coalescer;
+    private final TaskScheduler taskScheduler;
+    private final ExecutorService sender;
+
+    private final long windowMillis;
+    private final ReentrantLock relayLock = new ReentrantLock();
+    private final AtomicBoolean rerun = new AtomicBoolean();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final AtomicInteger publishedSinceFlush = new AtomicInteger();
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+
+    private final Counter sentCounter;
+    private final Counter retryCounter;
+    private final Counter deadCounter;
+    private final Counter packetCounter;
+    private final DistributionSummary eventsPerPacket;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public RoomEventRelay(
+            RoomEventOutboxRepository roomEventOutboxRepository,
+            LiveKitService liveKitService,
+            RoomPacketCoalescer coalescer,
+            TaskScheduler taskScheduler,
+            MeterRegistry meterRegistry,
+            @Value("${livekit.coalesce.window-ms:20}") long windowMillis,
+            @Value("${livekit.outbox.batch-size:200}") int batchSize,
+            @Value("${livekit.outbox.max-attempts:8}") int maxAttempts,
+            @Value("${livekit.outbox.base-backoff-ms:200}") long baseBackoffMillis,
+            @Value("${livekit.outbox.max-backoff-ms:30000}") long maxBackoffMillis,
+            @Value("${livekit.outbox.sender-threads:4}") int senderThreads
+    ) {
+        this.roomEventOutboxRepository = roomEventOutboxRepository;
+        this.liveKitService = liveKitService;
+        this.coalescer = coalescer;
+        this.taskScheduler = taskScheduler;
+        this.windowMillis = windowMillis;
+        this.sender = Executors.newFixedThreadPool(senderThreads);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffMillis = baseBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+
+        this.sentCounter = Counter.builder("livekit.outbox.sent").register(meterRegistry);
+        this.retryCounter = Counter.builder("livekit.outbox.retried").register(meterRegistry);
+        this.deadCounter = Counter.builder("livekit.outbox.dead").register(meterRegistry);
+        this.packetCounter = Counter.builder("livekit.packets.sent").register(meterRegistry);
+        this.eventsPerPacket = DistributionSummary.builder("livekit.packet.events")
+                .description("Room events coalesced into one LiveKit data packet")
+                .register(meterRegistry);
+        Gauge.builder("livekit.outbox.pending", pending, AtomicLong::get)
+                .description("Due outbox events the last relay run could not send")
+                .register(meterRegistry);
+        Gauge.builder("livekit.outbox.lag", lagMillis, AtomicLong::get)
+                .description("Age of the oldest due outbox event the last relay run could not send")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    // 커밋 직후 호출 : window 동안 모인 이벤트를 한 번에 flush (패킷 하나 분량이 쌓이면 즉시)
+    public void requestFlush() {
+        boolean packetFull = publishedSinceFlush.incrementAndGet() >= coalescer.maxEventsPerPacket();
+        if (packetFull) {
+            taskScheduler.schedule(this::relay, Instant.now());
+        } else if (flushScheduled.compareAndSet(false, true)) {
+            taskScheduler.schedule(this::relay, Instant.now().plusMillis(windowMillis));
+        }
+    }
+
+    // 커밋 알림을 놓친 이벤트와 백오프 재시도를 위한 주기 실행
+    @Scheduled(fixedDelayString = "${livekit.outbox.relay-interval-ms:1000}")
+    public void relay() {
+        // 동시에 하나만 실행, 실행 중에 요청이 오면 끝난 뒤 한 번 더
+        if (!relayLock.tryLock()) {
+            rerun.set(true);
+            return;
+        }
+        try {
+            List<RoomEventOutbox> batch;
+            Set<Long> sent;
+            do {
+                rerun.set(false);
+                flushScheduled.set(false);
+                publishedSinceFlush.set(0);
+
+                // 배치가 가득 차면 (더 남아 있을 수 있음) 바로 다음 배치, 하나도 못 보냈으면 다음 주기로
+                boolean full;
+                do {
+                    LocalDateTime now = LocalDateTime.now();
+                    batch = roomEventOutboxRepository.findDueBatch(now, PageRequest.ofSize(batchSize));
+                    sent = batch.isEmpty() ? Set.of() : deliver(batch, now);
+                    full = batch.size() == batchSize && !sent.isEmpty();
+                } while (full);
+            } while (rerun.get());
+            updateGauges(batch, sent);
+        } finally {
+            relayLock.unlock();
+        }
+    }
+
+    // 보낸 이벤트 id 를 반환 (한 방의 실패/예외가 다른 방의 SENT 표시를 막지 않음)
+    Set<Long> deliver(List<RoomEventOutbox> batch, LocalDateTime now) {
+        Map<String, List<RoomEventOutbox>> byRoom = new LinkedHashMap<>();
+        for (RoomEventOutbox event : batch) {
+            byRoom.computeIfAbsent(event.getRoomName(), room -> new ArrayList<>()).add(event);
+        }
+
+        ConcurrentLinkedQueue<Long> sentIds = new ConcurrentLinkedQueue<>();
+        List<CompletableFuture<Void>> rooms = new ArrayList<>(byRoom.size());
+        for (List<RoomEventOutbox> events : byRoom.values()) {
+            rooms.add(CompletableFuture.runAsync(() -> deliverRoom(events, now, sentIds), sender)
+                    .exceptionally(e -> {
+                        // markRetry/markDead 실패 등 : 이 방의 남은 이벤트는 PENDING 으로 남아 다음 주기에 다시 시도
+                        log.error("Relaying room events for room {} failed", events.get(0).getRoomName(), e);
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(rooms.toArray(new CompletableFuture[0])).join();
+
+        if (!sentIds.isEmpty()) {
+            roomEventOutboxRepository.markSent(new ArrayList<>(sentIds), LocalDateTime.now());
+            sentCounter.increment(sentIds.size());
+        }
+        return new HashSet<>(sentIds);
+    }
+
+    private void deliverRoom(List<RoomEventOutbox> events, LocalDateTime now, ConcurrentLinkedQueue<Long> sentIds) {
+        // 방 안의 순서 보장 : 앞 이벤트가 백오프 중이면 그 이후 이벤트도 보내지 않음
+        List<RoomEventOutbox> due = new ArrayList<>(events.size());
+        for (RoomEventOutbox event : events) {
+            if (event.getNextAttemptAt().isAfter(now)) break;
+            due.add(event);
+        }
+
+        for (List<RoomEventOutbox> packet : coalescer.pack(due)) {
+            try {
+                liveKitService.sendDataToRoom(packet.get(0).getRoomName(), coalescer.encode(packet));
+                packet.forEach(event -> sentIds.add(event.getId()));
+                packetCounter.increment();
+                eventsPerPacket.record(packet.size());
+            } catch (Exception e) {
+                packet.forEach(event -> fail(event, e));
+                return;
+            }
+        }
+    }
+
+    private void fail(RoomEventOutbox event, Exception e) {
+        int attempts = event.getAttempts() + 1;
+        String error = truncate(e.getClass().getSimpleName() + ": " + e.getMessage());
+
+        if (attempts >= maxAttempts) {
+            roomEventOutboxRepository.markDead(event.getId(), attempts, error);
+            deadCounter.increment();
+            log.error("Room event {} for room {} dead-lettered after {} attempts", event.getId(), event.getRoomName(), attempts, e);
+            return;
+        }
+
+        long backoff = Math.min(maxBackoffMillis, baseBackoffMillis << Math.min(attempts - 1, 20));
+        roomEventOutboxRepository.markRetry(event.getId(), attempts, LocalDateTime.now().plus(Duration.ofMillis(backoff)), error);
+        retryCounter.increment();
+        log.warn("Room event {} for room {} failed (attempt {}), retry in {}ms: {}", event.getId(), event.getRoomName(), attempts, backoff, error);
+    }
+
+    // 마지막 배치에서 보내지 못한 이벤트로 gauge 갱신 (추가 쿼리 없음, 배치는 id 순이므로 첫 미전송 이벤트가 가장 오래됨)
+    // 백오프 중인 이벤트는 다시 보낼 차례가 되어 배치에 들어올 때 반영됨
+    private void updateGauges(List<RoomEventOutbox> batch, Set<Long> sent) {
+        pending.set(batch.size() - sent.size());
+        LocalDateTime oldest = null;
+        for (RoomEventOutbox event : batch) {
+            if (!sent.contains(event.getId())) {
+                oldest = event.getCreatedAt();
+                break;
+            }
+        }
+        lagMillis.set(oldest == null ? 0L : Math.max(0L, Duration.between(oldest, LocalDateTime.now()).toMillis()));
+    }
+
+    // 전송 완료 이벤트 정리 (1시간마다, 하루 지난 것)
+    @Scheduled(fixedDelayString = "${livekit.outbox.cleanup-interval-ms:3600000}")
+    public void cleanup() {
+        roomEventOutboxRepository.deleteSentBefore(LocalDateTime.now().minusDays(1));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdown();
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= 512 ? message : message.substring(0, 512);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.webrtc_signal_server.domain.livekit.service;
+
+import com.example.webrtc_signal_server.domain.livekit.entity.RoomEventOutbox;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 한 방으로 가는 연속된 이벤트를 LiveKit 데이터 패킷 단위로 묶습니다.
+ * - 이벤트 1개짜리 패킷은 기존과 동일하게 이벤트 JSON 그대로 보냅니다.
+ * - 2개 이상이면 {"type":"EVENT_BATCH","events":[...]} 로 감싸 순서대로 보냅니다.
+ * 패킷당 이벤트 수와 바이트 수 상한을 넘지 않도록 나눕니다.
+ */
+@Component
+public class RoomPacketCoalescer {
+
+    static final String BATCH_PREFIX = "{\"type\":\"EVENT_BATCH\",\"events\":[";
+    static final String BATCH_SUFFIX = "]}";
+
+    private final int maxEventsPerPacket;
+    private final int maxPacketBytes;
+
+    public RoomPacketCoalescer(
+            @Value("${livekit.coalesce.max-events-per-packet:32}") int maxEventsPerPacket,
+            @Value("${livekit.coalesce.max-packet-bytes:15000}") int maxPacketBytes
+    ) {
+        this.maxEventsPerPacket = Math.max(1, maxEventsPerPacket);
+        this.maxPacketBytes = maxPacketBytes;
+    }
+
+    public int maxEventsPerPacket() {
+        return maxEventsPerPacket;
+    }
+
+    // 순서를 유지한 채 패킷 단위로 분할 (이벤트 하나가 상한을 넘으면 단독 패킷)
+    public List<List<RoomEventOutbox>> pack(List<RoomEventOutbox> events) {
+        List<List<RoomEventOutbox>> packets = new ArrayList<>();
+        List<RoomEventOutbox> current = new ArrayList<>();
+        int currentBytes = BATCH_PREFIX.length() + BATCH_SUFFIX.length();
+
+        for (RoomEventOutbox event : events) {
+            int eventBytes = event.getPayload().getBytes(StandardCharsets.UTF_8).length + 1;
+            boolean full = current.size() >= maxEventsPerPacket || currentBytes + eventBytes > maxPacketBytes;
+            if (!current.isEmpty() && full) {
+                packets.add(current);
+                current = new ArrayList<>();
+                currentBytes = BATCH_PREFIX.length() + BATCH_SUFFIX.length();
+            }
+            current.add(event);
+            currentBytes += eventBytes;
+        }
+        if (!current.isEmpty()) {
+            packets.add(current);
+        }
+        return packets;
+    }
+
+    public String encode(List<RoomEventOutbox> packet) {
+        if (packet.size() == 1) {
+            return packet.get(0).getPayload();
+        }
+
+        StringBuilder sb = new StringBuilder(BATCH_PREFIX);
+        for (int i = 0; i < packet.size(); i++) {
+            if (i > 0) sb.append(',');
+            sb.append(packet.get(i).getPayload());
+        }
+        return sb.append(BATCH_SUFFIX).toString();
+    }
+}
@@ -15,14 +15,28 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+// 같은 방 이름은 회의마다 다시 쓰임 (name 은 중복 허용, 최신 세션이 그 이름을 가짐)
+// 진행 중(COMPLETED 이전)인 세션만 active_name 을 가지므로 같은 이름의 진행 중 세션은 하나뿐
+@Table(
+        indexes = @Index(name = "idx_session_entity_name", columnList = "name, session_id"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_session_entity_active_name", columnNames = "active_name")
+)
 public class SessionEntity {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // IDENTITY 는 insert 배치를 막으므로 id_generator 테이블에서 allocationSize 만큼 미리 할당 (IdGeneratorSeeder 참고)
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "session_id")
+    @TableGenerator(name = "session_id", table = "id_generator", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "session", allocationSize = 50)
     @Column(name = "session_id")
     private Long id;
 
     private String name;
 
+    // 진행 중이면 name, COMPLETED 면 null (MySQL unique index 는 null 을 여러 개 허용)
+    @Column(name = "active_name")
+    private String activeName;
+
     @Enumerated(EnumType.STRING)
     @Builder.Default
     private SessionStatus status = SessionStatus.BEFORE_START;
@@ -50,6 +64,7 @@ public class SessionEntity {
 
     public void updateStatus(SessionStatus status) {
         this.status = status;
+        this.activeName = status == SessionStatus.COMPLETED ? null : this.name;
     }
 
 }
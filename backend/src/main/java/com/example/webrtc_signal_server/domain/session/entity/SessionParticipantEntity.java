@@ -10,9 +10,13 @@ import lombok.*;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@Table(indexes = @Index(name = "idx_session_participant_user_session", columnList = "user_id, session_id"))
 public class SessionParticipantEntity {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "session_participant_id")
+    @TableGenerator(name = "session_participant_id", table = "id_generator", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "session_participant", allocationSize = 500)
     @Column(name = "user_session_id")
     private Long id;
 
@@ -1,10 +1,39 @@
 package com.example.webrtc_signal_server.domain.session.repository;
 
 import com.example.webrtc_signal_server.domain.session.entity.SessionParticipantEntity;
+import com.example.webrtc_signal_server.domain.session.entity.SessionStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface SessionParticipantRepository extends JpaRepository<SessionParticipantEntity, Long> {
-    List<SessionParticipantEntity> findByUser_Id(Long userId);
-}
\ No newline at end of file
+    // 내가 참여한 세션 keyset 페이지 : beforeId 이전부터 세션 id 내림차순 (최신 세션 먼저), status 가 null 이면 전체
+    @Query("select distinct s.id as sessionId, s.name as sessionName, s.status as status " +
+            "from SessionParticipantEntity p join p.session s " +
+            "where p.user.id = :userId and s.id < :beforeId and (:status is null or s.status = :status) " +
+            "order by s.id desc")
+    List<SessionSummaryView> findSessionPageByUserId(@Param("userId") Long userId,
+                                                     @Param("status") SessionStatus status,
+                                                     @Param("beforeId") long beforeId,
+                                                     Pageable pageable);
+
+    // 여러 세션의 참여자 닉네임을 한 번에 (참여 순서)
+    @Query("select p.session.id as sessionId, u.nickname as nickname " +
+            "from SessionParticipantEntity p join p.user u where p.session.id in :sessionIds order by p.id")
+    List<ParticipantNicknameView> findNicknamesBySessionIds(@Param("sessionIds") Collection<Long> sessionIds);
+
+    interface SessionSummaryView {
+        Long getSessionId();
+        String getSessionName();
+        SessionStatus getStatus();
+    }
+
+    interface ParticipantNicknameView {
+        Long getSessionId();
+        String getNickname();
+    }
+}
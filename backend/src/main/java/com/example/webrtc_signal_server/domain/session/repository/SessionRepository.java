@@ -1,11 +1,33 @@
 package com.example.webrtc_signal_server.domain.session.repository;
 
 import com.example.webrtc_signal_server.domain.session.entity.SessionEntity;
-import com.example.webrtc_signal_server.domain.user.entity.UserEntity;
+import com.example.webrtc_signal_server.domain.session.entity.SessionStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface SessionRepository extends JpaRepository<SessionEntity, Long> {
-    Optional<SessionEntity> findByName(String name);
-}
+    // 방 이름을 쓰는 최신 세션 (RoomRegistry miss 시, idx_session_entity_name 역순 스캔 1건)
+    @Query("select s.id as sessionId, s.status as status from SessionEntity s where s.name = :name order by s.id desc")
+    List<RoomView> findRoomsByName(@Param("name") String name, Pageable pageable);
+
+    // 이미 진행 중인 세션이 쓰고 있는 방 이름 (uk_session_entity_active_name)
+    @Query("select s.activeName from SessionEntity s where s.activeName in :names")
+    List<String> findActiveNames(@Param("names") Collection<String> names);
 
+    @Query("select s.status from SessionEntity s where s.id = :id")
+    Optional<SessionStatus> findStatusById(@Param("id") Long id);
+
+    @Query("select s.name from SessionEntity s where s.id = :id")
+    Optional<String> findNameById(@Param("id") Long id);
+
+    interface RoomView {
+        Long getSessionId();
+        SessionStatus getStatus();
+    }
+}
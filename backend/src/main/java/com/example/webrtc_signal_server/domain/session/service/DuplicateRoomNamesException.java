@@ -0,0 +1,17 @@
+package com.example.webrtc_signal_server.domain.session.service;
+
+import lombok.Getter;
+
+import java.util.List;
+
+// 한 번의 세션 생성 요청 안에서 두 번 이상 나온 방 이름 전체
+@Getter
+public class DuplicateRoomNamesException extends IllegalArgumentException {
+
+    private final List<String> roomNames;
+
+    public DuplicateRoomNamesException(List<String> roomNames) {
+        super("요청 안에 중복된 방 이름이 있습니다: " + roomNames);
+        this.roomNames = roomNames;
+    }
+}
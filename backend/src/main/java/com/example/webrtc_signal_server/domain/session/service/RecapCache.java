@@ -0,0 +1,262 @@
+package com.example.webrtc_signal_server.domain.session.service;
+
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.example.webrtc_signal_server.global.service.S3Service;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 세션 recap (S3 Summarize/{roomName}_*) 캐시.
+ * - 메모리(Caffeine, 바이트 가중치) -> 로컬 디스크({@link RecapDiskStore}) -> S3 순으로 찾습니다.
+ *   S3 본문은 디스크로 바로 스트리밍해서 받고 gzip 사본을 한 번 만들어 두며, memory-entry-max-bytes 이하인 recap 만 본문을 메모리에 올립니다.
+ *   큰 recap 은 메모리에 메타만 두고 응답 때 디스크 파일을 그대로 보냅니다.
+ * - revalidate-after 가 지난 항목은 최신 객체를 다시 찾고, key 가 같으면 If-None-Match(ETag) 로 요청해서 304 면 본문을 다시 받지 않습니다.
+ * - 같은 방의 동시 miss/재검증은 fetch 스레드의 S3 조회 하나를 공유하고, 요청 스레드는 기다리지 않습니다 (single-flight + future).
+ * - 세션이 COMPLETED 로 바뀌면 미리 채웁니다. recap 은 회의가 끝난 뒤 만들어지므로 아직 없으면 delay 간격으로 다시 시도합니다.
+ */
+@Slf4j
+@Component
+public class RecapCache {
+
+    // 본문이 없는 (디스크에서 보내는) 항목의 메모리 가중치
+    private static final int METADATA_WEIGHT = 256;
+
+    private final S3Service s3Service;
+    private final TaskScheduler taskScheduler;
+    private final Cache<String, Recap> memory;
+    private final RecapDiskStore disk;
+    private final ExecutorService fetchExecutor;
+    private final ConcurrentHashMap<String, CompletableFuture<Recap>> inFlight = new ConcurrentHashMap<>();
+
+    private final long memoryEntryMaxBytes;
+    private final long revalidateAfterMillis;
+    private final int prewarmAttempts;
+    private final long prewarmDelayMillis;
+
+    private final Counter diskHitCounter;
+    private final Counter downloadedCounter;
+    private final Counter notModifiedCounter;
+    private final Counter coalescedCounter;
+
+    public RecapCache(
+            S3Service s3Service,
+            TaskScheduler taskScheduler,
+            MeterRegistry meterRegistry,
+            @Value("${session.recap.cache.memory-max-bytes:67108864}") long memoryMaxBytes,
+            @Value("${session.recap.cache.memory-entry-max-bytes:262144}") long memoryEntryMaxBytes,
+            @Value("${session.recap.cache.dir:${java.io.tmpdir}/recap-cache}") String dir,
+            @Value("${session.recap.cache.disk-max-bytes:1073741824}") long diskMaxBytes,
+            @Value("${session.recap.cache.revalidate-after-seconds:60}") long revalidateAfterSeconds,
+            @Value("${session.recap.fetch-threads:4}") int fetchThreads,
+            @Value("${session.recap.prewarm.attempts:10}") int prewarmAttempts,
+            @Value("${session.recap.prewarm.delay-ms:60000}") long prewarmDelayMillis
+    ) {
+        this.s3Service = s3Service;
+        this.taskScheduler = taskScheduler;
+        this.memoryEntryMaxBytes = memoryEntryMaxBytes;
+        this.revalidateAfterMillis = TimeUnit.SECONDS.toMillis(revalidateAfterSeconds);
+        this.prewarmAttempts = prewarmAttempts;
+        this.prewarmDelayMillis = prewarmDelayMillis;
+
+        this.memory = Caffeine.newBuilder()
+                .maximumWeight(memoryMaxBytes)
+                .weigher((String roomName, Recap recap) -> recap.weight())
+                .recordStats()
+                .build();
+        this.disk = new RecapDiskStore(Path.of(dir), diskMaxBytes);
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "recap-fetch-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.fetchExecutor = Executors.newFixedThreadPool(fetchThreads, threadFactory);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, memory, "sessionRecaps");
+        Gauge.builder("session.recap.disk.bytes", disk, RecapDiskStore::usedBytes).register(meterRegistry);
+        this.diskHitCounter = Counter.builder("session.recap.disk.hits").register(meterRegistry);
+        this.downloadedCounter = Counter.builder("session.recap.fetch").tag("result", "downloaded").register(meterRegistry);
+        this.notModifiedCounter = Counter.builder("session.recap.fetch").tag("result", "not_modified").register(meterRegistry);
+        this.coalescedCounter = Counter.builder("session.recap.coalesced")
+                .description("Recap lookups that waited on another request's S3 fetch")
+                .register(meterRegistry);
+    }
+
+    // 캐시가 신선하면 바로 완료된 future, 아니면 fetch 스레드에서 S3 조회 (recap 이 없으면 IllegalArgumentException 으로 완료)
+    // 받은 항목의 디스크 파일이 그 사이 eviction 됐으면 (다른 요청의 fetch 를 기다린 경우 등) miss 로 보고 한 번 더 찾음
+    public CompletableFuture<Recap> get(String roomName) {
+        return resolve(roomName).thenCompose(recap -> recap.available()
+                ? CompletableFuture.completedFuture(recap)
+                : resolve(roomName));
+    }
+
+    private CompletableFuture<Recap> resolve(String roomName) {
+        Recap cached = lookup(roomName);
+        if (cached != null && !isStale(cached)) return CompletableFuture.completedFuture(cached);
+        return fetchOnce(roomName, cached);
+    }
+
+    // 세션 종료 커밋 후 호출 : 요청 스레드를 막지 않도록 scheduler 에서 채움
+    public void prewarm(String roomName) {
+        schedulePrewarm(roomName, 1, Instant.now());
+    }
+
+    private void schedulePrewarm(String roomName, int attempt, Instant at) {
+        taskScheduler.schedule(() -> get(roomName).whenComplete((recap, error) -> {
+            if (error == null) return;
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof IllegalArgumentException && attempt < prewarmAttempts) {
+                // 아직 recap 이 업로드되지 않음
+                schedulePrewarm(roomName, attempt + 1, Instant.now().plusMillis(prewarmDelayMillis));
+            } else {
+                log.info("Recap prewarm for {} stopped after {} attempts: {}", roomName, attempt, cause.getMessage());
+            }
+        }), at);
+    }
+
+    private Recap lookup(String roomName) {
+        Recap recap = memory.getIfPresent(roomName);
+        if (recap != null && recap.available()) {
+            disk.touch(recap.file()); // 디스크 LRU 순서 갱신 (큰 recap 은 응답도 이 파일에서 나감)
+            return recap;
+        }
+
+        recap = disk.read(roomName);
+        if (recap != null) {
+            diskHitCounter.increment();
+            recap = withContent(recap);
+            memory.put(roomName, recap);
+        }
+        return recap;
+    }
+
+    private boolean isStale(Recap recap) {
+        return System.currentTimeMillis() - recap.validatedAt() >= revalidateAfterMillis;
+    }
+
+    // 먼저 들어온 요청만 S3 조회를 시작하고, 나머지는 같은 future 를 받음
+    private CompletableFuture<Recap> fetchOnce(String roomName, Recap stale) {
+        CompletableFuture<Recap> mine = new CompletableFuture<>();
+        CompletableFuture<Recap> running = inFlight.putIfAbsent(roomName, mine);
+        if (running != null) {
+            coalescedCounter.increment();
+            return running;
+        }
+
+        try {
+            fetchExecutor.execute(() -> {
+                try {
+                    // 앞선 fetch 가 방금 끝났으면 그 결과를 사용
+                    Recap fresh = memory.getIfPresent(roomName);
+                    mine.complete(fresh != null && fresh.available() && !isStale(fresh) ? fresh : fetch(roomName, fresh != null ? fresh : stale));
+                } catch (Throwable e) {
+                    mine.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(roomName, mine);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(roomName, mine);
+            mine.completeExceptionally(e);
+        }
+        return mine;
+    }
+
+    private Recap fetch(String roomName, Recap stale) throws IOException {
+        S3ObjectSummary latest = s3Service.findLatestRecap(roomName);
+        // 304 면 캐시된 본문을 계속 쓰므로 본문이 남아 있을 때만 ETag 를 보냄
+        boolean sameObject = stale != null && stale.key().equals(latest.getKey()) && stale.available();
+
+        Path temp = disk.newTempFile(roomName);
+        try {
+            String eTag = s3Service.downloadIfNoneMatch(latest.getKey(), sameObject ? stale.eTag() : null, temp);
+            long now = System.currentTimeMillis();
+            Recap recap;
+            if (eTag == null) {
+                notModifiedCounter.increment();
+                recap = stale.revalidated(now);
+            } else {
+                downloadedCounter.increment();
+                Path body = disk.commit(roomName, eTag, temp);
+                recap = withContent(new Recap(latest.getKey(), eTag, Files.size(body), null, null, body, now));
+            }
+            // 메타를 마지막에 바꿔서 새 버전으로 전환
+            disk.writeMeta(roomName, recap);
+            memory.put(roomName, recap);
+            return recap;
+        } finally {
+            disk.discard(temp);
+        }
+    }
+
+    // 작은 recap 은 본문과 gzip 사본을 메모리에 올려서 디스크를 거치지 않고 응답
+    private Recap withContent(Recap recap) {
+        if (recap.content() != null || recap.length() > memoryEntryMaxBytes) return recap;
+        try {
+            return new Recap(recap.key(), recap.eTag(), recap.length(), Files.readAllBytes(recap.file()),
+                    Files.readAllBytes(RecapDiskStore.gzipOf(recap.file())), recap.file(), recap.validatedAt());
+        } catch (IOException e) {
+            log.warn("Recap {} served from disk only: {}", recap.key(), e.getMessage());
+            return recap;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fetchExecutor.shutdownNow();
+    }
+
+    /**
+     * 캐시된 recap 한 버전.
+     * content/gzipped 는 메모리에 올린 경우에만 있고, 없으면 file (및 file.gz) 을 그대로 보냅니다.
+     * validatedAt : S3 와 마지막으로 맞춰 본 시각 (epoch millis)
+     */
+    public record Recap(String key, String eTag, long length, byte[] content, byte[] gzipped, Path file, long validatedAt) {
+
+        // 복사 없이 메모리 배열 또는 디스크 파일을 그대로 감싼 응답 본문
+        public Resource resource(boolean gzip) {
+            byte[] bytes = gzip ? gzipped : content;
+            if (bytes != null) return new ByteArrayResource(bytes);
+            return new FileSystemResource(gzip ? RecapDiskStore.gzipOf(file) : file);
+        }
+
+        // 메모리에 본문이 있거나 디스크의 본문과 gzip 파일이 eviction 되지 않았음
+        boolean available() {
+            return content != null || (Files.exists(file) && Files.exists(RecapDiskStore.gzipOf(file)));
+        }
+
+        Recap revalidated(long now) {
+            return new Recap(key, eTag, length, content, gzipped, file, now);
+        }
+
+        int weight() {
+            return content == null ? METADATA_WEIGHT : METADATA_WEIGHT + content.length + gzipped.length;
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.example.webrtc_signal_server.domain.session.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * {@link RecapCache} 의 디스크 계층.
+ * 방마다 sha256(roomName).{version}.body (본문), .body.gz (gzip 사본), sha256(roomName).meta (key, ETag, 현재 본문 파일, 검증 시각) 파일을 두고,
+ * 임시 파일에 쓴 뒤 move 로 옮겨서 읽는 쪽이 반쯤 쓴 파일을 보지 않게 합니다.
+ * 본문 파일 이름에 ETag 의 해시(version)가 들어가므로 새 버전은 기존 파일을 덮어쓰지 않고 옆에 쓰이고,
+ * 본문과 gzip 이 모두 자리 잡은 뒤 메타를 마지막에 교체해서 한 번에 새 버전으로 넘어갑니다 (본문과 gzip 이 서로 다른 버전일 수 없음).
+ * 이전 버전 파일은 바로 지우지 않고, 일정 시간 읽히지 않은 뒤의 메타 갱신이나 eviction 때 지웁니다 (이전 버전을 받은 응답이 파일을 열 수 있도록).
+ * 본문 + gzip 합계가 max-bytes 를 넘으면 마지막으로 읽힌 시각(mtime) 이 오래된 본문부터 low-water(90%) 까지 지웁니다.
+ * 메모리 계층에서 응답한 항목도 {@link #touch} 로 mtime 을 갱신하므로 디스크 순서는 실제 응답 기준의 LRU 입니다.
+ */
+@Slf4j
+final class RecapDiskStore {
+
+    private static final String BODY = ".body";
+    private static final String GZIP = ".gz";
+    private static final String META = ".meta";
+    private static final String TEMP = ".tmp";
+
+    // 같은 항목의 mtime 은 이 간격에 한 번만 기록 (자주 읽히는 recap 마다 매번 쓰지 않도록)
+    private static final long TOUCH_INTERVAL_MILLIS = 1_000L;
+
+    // 이 시간 동안 읽히지 않은 이전 버전만 지움
+    private static final long SUPERSEDED_GRACE_MILLIS = 60_000L;
+
+    private final Path dir;
+    private final long maxBytes;
+    private final AtomicLong usedBytes = new AtomicLong();
+
+    RecapDiskStore(Path dir, long maxBytes) {
+        this.dir = dir;
+        this.maxBytes = maxBytes;
+        try {
+            Files.createDirectories(dir);
+            // 지난 실행에서 남은 임시 파일은 지우고, 남아 있는 본문 크기로 사용량을 다시 계산
+            for (Path file : list()) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(TEMP)) {
+                    Files.deleteIfExists(file);
+                } else if (name.endsWith(BODY) || name.endsWith(BODY + GZIP)) {
+                    usedBytes.addAndGet(Files.size(file));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Recap cache directory is not usable: " + dir, e);
+        }
+        evictIfNeeded();
+    }
+
+    static Path gzipOf(Path body) {
+        return body.resolveSibling(body.getFileName() + GZIP);
+    }
+
+    // 메타만 읽음 (본문은 필요할 때 readAll 또는 파일 그대로 전송), 없거나 읽을 수 없으면 null
+    RecapCache.Recap read(String roomName) {
+        String name = fileName(roomName);
+        try {
+            Properties meta = new Properties();
+            try (Reader reader = Files.newBufferedReader(dir.resolve(name + META), StandardCharsets.UTF_8)) {
+                meta.load(reader);
+            }
+            Path body = currentBody(name, meta);
+            long length = Files.size(body);
+            if (!Files.exists(gzipOf(body))) {
+                throw new NoSuchFileException(gzipOf(body).toString());
+            }
+            Files.setLastModifiedTime(body, FileTime.from(Instant.now()));
+            return new RecapCache.Recap(meta.getProperty("key"), meta.getProperty("etag"), length, null, null, body,
+                    Long.parseLong(meta.getProperty("validatedAt")));
+        } catch (NoSuchFileException e) {
+            // 아직 commit 중이거나 일부만 남은 항목 : 지우지 않고 miss 로 처리 (남은 파일은 eviction 대상)
+            return null;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Discarding unreadable recap cache entry for {}: {}", roomName, e.getMessage());
+            delete(name);
+            return null;
+        }
+    }
+
+    // 응답할 때마다 호출 : 본문의 mtime 을 지금으로 (이미 eviction 된 파일이면 무시, 다음 조회에서 다시 받음)
+    void touch(Path body) {
+        try {
+            long now = System.currentTimeMillis();
+            if (now - Files.getLastModifiedTime(body).toMillis() < TOUCH_INTERVAL_MILLIS) return;
+            Files.setLastModifiedTime(body, FileTime.fromMillis(now));
+        } catch (IOException e) {
+            log.debug("Recap cache entry {} not touched: {}", body, e.getMessage());
+        }
+    }
+
+    // S3 본문을 받을 임시 파일 (commit 하지 않으면 discard 로 정리)
+    Path newTempFile(String roomName) throws IOException {
+        return Files.createTempFile(dir, fileName(roomName), TEMP);
+    }
+
+    void discard(Path temp) {
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException e) {
+            log.warn("Recap cache temp file {} not deleted: {}", temp, e.getMessage());
+        }
+    }
+
+    // 받은 본문을 ETag 버전 파일로 옮기고 gzip 사본을 만듦, 본문 경로 반환
+    // 메타는 바꾸지 않으므로 writeMeta 전까지 읽는 쪽은 이전 버전을 그대로 봄
+    Path commit(String roomName, String eTag, Path temp) throws IOException {
+        String name = fileName(roomName);
+        Path body = dir.resolve(name + "." + version(eTag) + BODY);
+        Path gzip = gzipOf(body);
+
+        Path gzipTemp = Files.createTempFile(dir, name, TEMP);
+        try (InputStream in = Files.newInputStream(temp);
+             OutputStream out = new GZIPOutputStream(Files.newOutputStream(gzipTemp))) {
+            in.transferTo(out);
+        }
+
+        long previous = sizeOf(body) + sizeOf(gzip);
+        long added = Files.size(temp) + Files.size(gzipTemp);
+        Files.move(temp, body, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.move(gzipTemp, gzip, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        usedBytes.addAndGet(added - previous);
+        return body;
+    }
+
+    // commit 한 버전으로 전환 (304 재검증 때는 검증 시각만 갱신)
+    void writeMeta(String roomName, RecapCache.Recap recap) {
+        String name = fileName(roomName);
+        try {
+            Properties meta = new Properties();
+            meta.setProperty("roomName", roomName);
+            meta.setProperty("key", recap.key());
+            meta.setProperty("etag", recap.eTag());
+            meta.setProperty("file", recap.file().getFileName().toString());
+            meta.setProperty("validatedAt", Long.toString(recap.validatedAt()));
+            Path temp = Files.createTempFile(dir, name, TEMP);
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                meta.store(writer, null);
+            }
+            Files.move(temp, dir.resolve(name + META), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            deleteSuperseded(name, recap.file());
+        } catch (IOException e) {
+            log.warn("Recap for {} not written to disk cache: {}", roomName, e.getMessage());
+        }
+        evictIfNeeded();
+    }
+
+    long usedBytes() {
+        return usedBytes.get();
+    }
+
+    private synchronized void evictIfNeeded() {
+        if (usedBytes.get() <= maxBytes) return;
+
+        long lowWater = maxBytes - maxBytes / 10;
+        try {
+            List<Path> bodies = list().stream()
+                    .filter(file -> file.getFileName().toString().endsWith(BODY))
+                    .sorted(Comparator.comparing(RecapDiskStore::lastModified))
+                    .toList();
+            // 본문과 그 gzip 만 지움 : 메타가 가리키는 버전이면 다음 read 에서 miss
+            for (Path body : bodies) {
+                if (usedBytes.get() <= lowWater) break;
+                deleteFile(body);
+                deleteFile(gzipOf(body));
+            }
+        } catch (IOException e) {
+            log.warn("Recap disk cache eviction failed: {}", e.getMessage());
+        }
+    }
+
+    private void delete(String name) {
+        try {
+            Files.deleteIfExists(dir.resolve(name + META));
+            for (Path file : filesOf(name)) {
+                deleteFile(file);
+            }
+        } catch (IOException e) {
+            log.warn("Recap cache entry {} not deleted: {}", name, e.getMessage());
+        }
+    }
+
+    // 메타가 가리키지 않는 이 방의 본문/gzip (이전 버전, commit 후 메타를 쓰기 전에 멈춘 것) 중 grace 동안 읽히지 않은 것
+    private void deleteSuperseded(String name, Path current) {
+        long cutoff = System.currentTimeMillis() - SUPERSEDED_GRACE_MILLIS;
+        try {
+            for (Path file : filesOf(name)) {
+                if (file.equals(current) || file.equals(gzipOf(current))) continue;
+                String fileName = file.getFileName().toString();
+                Path body = fileName.endsWith(GZIP) ? file.resolveSibling(fileName.substring(0, fileName.length() - GZIP.length())) : file;
+                if (lastModified(body).toMillis() < cutoff) {
+                    deleteFile(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Superseded recap files for {} not deleted: {}", name, e.getMessage());
+        }
+    }
+
+    private void deleteFile(Path file) {
+        try {
+            long size = sizeOf(file);
+            if (Files.deleteIfExists(file)) {
+                usedBytes.addAndGet(-size);
+            }
+        } catch (IOException e) {
+            log.warn("Recap cache file {} not deleted: {}", file, e.getMessage());
+        }
+    }
+
+    // 방의 모든 버전 본문/gzip 파일
+    private List<Path> filesOf(String name) throws IOException {
+        return list().stream()
+                .filter(file -> {
+                    String fileName = file.getFileName().toString();
+                    return fileName.startsWith(name + ".") && (fileName.endsWith(BODY) || fileName.endsWith(BODY + GZIP));
+                })
+                .toList();
+    }
+
+    // 메타의 file 은 이 방의 본문 파일 이름이어야 함 (이전 형식의 메타는 file 이 없어 버려짐)
+    private Path currentBody(String name, Properties meta) {
+        String file = meta.getProperty("file");
+        if (file == null || !file.startsWith(name + ".") || !file.endsWith(BODY) || file.contains("/") || file.contains("\\")) {
+            throw new IllegalStateException("Recap cache meta has no valid body file: " + file);
+        }
+        return dir.resolve(file);
+    }
+
+    private List<Path> list() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.toList();
+        }
+    }
+
+    private static long sizeOf(Path file) throws IOException {
+        return Files.exists(file) ? Files.size(file) : 0L;
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0L);
+        }
+    }
+
+    // ETag 에는 따옴표 등이 들어갈 수 있으므로 해시 앞부분을 버전으로 사용
+    private static String version(String eTag) {
+        return fileName(eTag).substring(0, 16);
+    }
+
+    // 방 이름에 한글, 공백, '/' 가 들어갈 수 있으므로 해시를 파일 이름으로 사용
+    private static String fileName(String roomName) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(roomName.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.webrtc_signal_server.domain.session.service;
+
+import lombok.Getter;
+
+import java.util.List;
+
+// 진행 중(COMPLETED 이전)인 세션이 이미 쓰고 있는 방 이름 : 회의가 끝나면 같은 이름으로 다시 만들 수 있음
+@Getter
+public class RoomNameInUseException extends RuntimeException {
+
+    private final List<String> roomNames;
+
+    public RoomNameInUseException(List<String> roomNames) {
+        super("이미 진행 중인 방 이름입니다: " + roomNames);
+        this.roomNames = roomNames;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.webrtc_signal_server.domain.session.service;
+
+import com.example.webrtc_signal_server.domain.session.entity.SessionStatus;
+import com.example.webrtc_signal_server.domain.session.repository.SessionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 방 이름 -> 세션 캐시 (roomName -> sessionId, status).
+ * 방 이름은 회의마다 다시 쓰이므로 그 이름의 최신 세션에 대응하고, miss 는 (name, session_id) index 로 한 번 조회합니다.
+ * 세션 생성 시 커밋 후 새 세션으로 덮어쓰고, 상태가 바뀌면 커밋 후 비웁니다 (롤백된 값이 캐시에 남지 않도록).
+ */
+@Component
+public class RoomRegistry {
+
+    private final SessionRepository sessionRepository;
+    private final Cache<String, Room> cache;
+
+    public RoomRegistry(
+            SessionRepository sessionRepository,
+            MeterRegistry meterRegistry,
+            @Value("${session.room-cache.ttl-seconds:3600}") long ttlSeconds,
+            @Value("${session.room-cache.max-size:10000}") long maxSize
+    ) {
+        this.sessionRepository = sessionRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "sessionRooms");
+    }
+
+    // 없는 방 이름은 캐시하지 않음 (곧 생성될 수 있으므로)
+    public Optional<Room> resolve(String roomName) {
+        Room cached = cache.getIfPresent(roomName);
+        if (cached != null) return Optional.of(cached);
+
+        Optional<Room> loaded = sessionRepository.findRoomsByName(roomName, PageRequest.ofSize(1)).stream()
+                .findFirst()
+                .map(row -> new Room(row.getSessionId(), row.getStatus()));
+        loaded.ifPresent(room -> cache.put(roomName, room));
+        return loaded;
+    }
+
+    public void register(String roomName, Long sessionId, SessionStatus status) {
+        afterCommit(() -> cache.put(roomName, new Room(sessionId, status)));
+    }
+
+    public void invalidate(String roomName) {
+        cache.invalidate(roomName);
+        afterCommit(() -> cache.invalidate(roomName));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    public record Room(Long sessionId, SessionStatus status) {
+    }
+}
@@ -4,16 +4,27 @@ import com.example.webrtc_signal_server.domain.session.dto.SessionCreateRequestD
 import com.example.webrtc_signal_server.domain.session.dto.SessionSummaryResponseDTO;
 import com.example.webrtc_signal_server.domain.session.entity.SessionEntity;
 import com.example.webrtc_signal_server.domain.session.entity.SessionParticipantEntity;
+import com.example.webrtc_signal_server.domain.session.entity.SessionStatus;
 import com.example.webrtc_signal_server.domain.session.repository.SessionParticipantRepository;
 import com.example.webrtc_signal_server.domain.session.repository.SessionRepository;
 import com.example.webrtc_signal_server.domain.user.entity.UserEntity;
 import com.example.webrtc_signal_server.domain.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,82 +34,161 @@ public class SessionService {
     private final SessionRepository sessionRepository;
     private final UserRepository userRepository;
     private final SessionParticipantRepository sessionParticipantRepository;
-    private final com.example.webrtc_signal_server.global.service.S3Service s3Service;
+    private final RecapCache recapCache;
+    private final RoomRegistry roomRegistry;
+    private final SessionStatusStreams sessionStatusStreams;
 
     @Transactional
     public Long createSession(SessionCreateRequestDTO requestDto) {
+        return createSessions(List.of(requestDto)).get(0);
+    }
 
-        // 1. 세션 생성
-        SessionEntity session = SessionEntity.builder()
-                .name(requestDto.getRoomName())
-                .participants(new ArrayList<>()) // 초기화
-                .boards(new ArrayList<>())       // 초기화
-                .build();
-
-        // 2. 참여자 목록 순회 및 저장
-        for (SessionCreateRequestDTO.SessionParticipantDTO pDto : requestDto.getParticipants()) {
+    // 여러 세션을 한 번에 생성 : 사용자 조회 1번 + 방 이름 확인 1번 + 세션/참여자 insert 는 JDBC 배치 (TABLE id 라 flush 때 모아서 전송)
+    @Transactional
+    public List<Long> createSessions(List<SessionCreateRequestDTO> requestDtos) {
+
+        // 0. 요청 안의 방 이름 중복은 DB 에 가기 전에 거절
+        Set<String> roomNames = new LinkedHashSet<>();
+        Set<String> duplicated = new LinkedHashSet<>();
+        for (SessionCreateRequestDTO requestDto : requestDtos) {
+            if (!roomNames.add(requestDto.getRoomName())) {
+                duplicated.add(requestDto.getRoomName());
+            }
+        }
+        if (!duplicated.isEmpty()) {
+            throw new DuplicateRoomNamesException(List.copyOf(duplicated));
+        }
 
-            // Flutter에서 보낸 identity를 이용해 DB에서 유저 조회
-            UserEntity user = userRepository.findById(pDto.getIdentity())
-                    .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다: " + pDto.getIdentity()));
+        // 1. 모든 요청의 참여자 identity 를 모아 한 번에 조회
+        Set<Long> identities = new LinkedHashSet<>();
+        for (SessionCreateRequestDTO requestDto : requestDtos) {
+            for (SessionCreateRequestDTO.SessionParticipantDTO pDto : participantsOf(requestDto)) {
+                if (pDto.getIdentity() == null) {
+                    throw new IllegalArgumentException("참여자 identity 가 없습니다: " + pDto.getName());
+                }
+                identities.add(pDto.getIdentity());
+            }
+        }
+        Map<Long, UserEntity> users = new HashMap<>();
+        for (UserEntity user : userRepository.findAllById(identities)) {
+            users.put(user.getId(), user);
+        }
 
-            // 참여자 엔티티 생성
-            SessionParticipantEntity participantEntity = SessionParticipantEntity.builder()
-                    .build();
+        // 2. 없는 사용자는 한 번에 모아서 알림
+        List<Long> unknownIds = identities.stream().filter(id -> !users.containsKey(id)).toList();
+        if (!unknownIds.isEmpty()) {
+            throw new UnknownParticipantsException(unknownIds);
+        }
 
-            // 3. 연관관계 설정 (제공해주신 편의 메소드 활용)
-            participantEntity.associateUser(user); // 유저 연결
-            session.addParticipant(participantEntity); // 세션 연결 (양방향)
+        // 3. 방 이름은 회의마다 다시 쓸 수 있지만, 같은 이름의 세션이 아직 진행 중이면 409
+        List<String> inUse = sessionRepository.findActiveNames(roomNames);
+        if (!inUse.isEmpty()) {
+            throw new RoomNameInUseException(inUse);
         }
 
-        // 4. 세션 저장 (CascadeType.ALL 설정이 되어있으므로 participants도 함께 저장됨)
-        SessionEntity savedSession = sessionRepository.save(session);
+        // 4. 세션 + 참여자 생성 (연관관계 편의 메소드 활용)
+        List<SessionEntity> sessions = new ArrayList<>(requestDtos.size());
+        for (SessionCreateRequestDTO requestDto : requestDtos) {
+            SessionEntity session = SessionEntity.builder()
+                    .name(requestDto.getRoomName())
+                    .activeName(requestDto.getRoomName())
+                    .participants(new ArrayList<>()) // 초기화
+                    .boards(new ArrayList<>())       // 초기화
+                    .build();
+            for (SessionCreateRequestDTO.SessionParticipantDTO pDto : participantsOf(requestDto)) {
+                SessionParticipantEntity participantEntity = SessionParticipantEntity.builder()
+                        .build();
+                participantEntity.associateUser(users.get(pDto.getIdentity())); // 유저 연결
+                session.addParticipant(participantEntity); // 세션 연결 (양방향)
+            }
+            sessions.add(session);
+        }
 
-        return savedSession.getId();
+        // 5. 세션 저장 (CascadeType.ALL 이므로 participants 도 함께 저장, id 는 persist 시점에 할당됨)
+        //    여기서 flush 해서 확인과 insert 사이에 같은 이름으로 먼저 만든 요청을 uk_session_entity_active_name 위반으로 잡음
+        List<SessionEntity> saved;
+        try {
+            saved = sessionRepository.saveAllAndFlush(sessions);
+        } catch (DataIntegrityViolationException e) {
+            throw new RoomNameInUseException(List.copyOf(roomNames));
+        }
+        for (SessionEntity session : saved) {
+            roomRegistry.register(session.getName(), session.getId(), session.getStatus());
+        }
+        return saved.stream().map(SessionEntity::getId).toList();
     }
-    public List<SessionSummaryResponseDTO> getMySessions(Long userId) {
 
-        // 1. ID로 조회
-        List<SessionParticipantEntity> myParticipations = sessionParticipantRepository.findByUser_Id(userId);
-
-        // 2. DTO 변환 로직 (이전과 동일)
-        return myParticipations.stream().map(participation -> {
-            SessionEntity session = participation.getSession();
-
-            List<String> nicknames = session.getParticipants().stream()
-                    .map(sp -> sp.getUser().getNickname())
-                    .collect(Collectors.toList());
+    private static List<SessionCreateRequestDTO.SessionParticipantDTO> participantsOf(SessionCreateRequestDTO requestDto) {
+        return requestDto.getParticipants() == null ? List.of() : requestDto.getParticipants();
+    }
+    // 세션 수와 관계없이 쿼리 2번 : 세션 페이지 1 + 참여자 닉네임 1 (엔티티/지연 로딩 없음)
+    @Transactional(readOnly = true)
+    public List<SessionSummaryResponseDTO> getMySessions(Long userId, SessionStatus status, long beforeId, int size) {
+
+        // 1. 내가 참여한 세션 페이지 (최신 세션 먼저)
+        List<SessionParticipantRepository.SessionSummaryView> sessions =
+                sessionParticipantRepository.findSessionPageByUserId(userId, status, beforeId, PageRequest.ofSize(size));
+        if (sessions.isEmpty()) return List.of();
+
+        // 2. 페이지 내 세션들의 참여자 닉네임을 한 번에 모음
+        List<Long> sessionIds = sessions.stream().map(SessionParticipantRepository.SessionSummaryView::getSessionId).toList();
+        Map<Long, List<String>> nicknamesBySession = new HashMap<>();
+        for (SessionParticipantRepository.ParticipantNicknameView row : sessionParticipantRepository.findNicknamesBySessionIds(sessionIds)) {
+            nicknamesBySession.computeIfAbsent(row.getSessionId(), id -> new ArrayList<>()).add(row.getNickname());
+        }
 
-            return SessionSummaryResponseDTO.builder()
-                    .sessionId(session.getId())
-                    .sessionName(session.getName())
-                    .participantNicknames(nicknames)
-                    .status(session.getStatus().name())
-                    .build();
-        }).collect(Collectors.toList());
+        return sessions.stream().map(session -> SessionSummaryResponseDTO.builder()
+                .sessionId(session.getSessionId())
+                .sessionName(session.getSessionName())
+                .participantNicknames(nicknamesBySession.getOrDefault(session.getSessionId(), List.of()))
+                .status(session.getStatus().name())
+                .build()
+        ).collect(Collectors.toList());
     }
 
 
     @Transactional(readOnly = true)
     public String getSessionStatus(Long sessionId) {
-        SessionEntity session = sessionRepository.findById(sessionId)
+        return findStatus(sessionId).name();
+    }
+
+    // 현재 상태를 바로 보내고 이후 전이를 push 하는 SSE 구독
+    // 상태는 구독 등록 뒤에 읽어야 하므로 트랜잭션 스냅샷을 미리 잡지 않음
+    public SseEmitter subscribeSessionStatus(Long sessionId) {
+        return sessionStatusStreams.subscribe(sessionId, () -> findStatus(sessionId));
+    }
+
+    private SessionStatus findStatus(Long sessionId) {
+        return sessionRepository.findStatusById(sessionId)
                 .orElseThrow(() -> new IllegalArgumentException("Session not found: " + sessionId));
-        return session.getStatus().name();
     }
 
     @Transactional
     public void updateSessionStatusByName(String roomName, com.example.webrtc_signal_server.domain.session.entity.SessionStatus status) {
-        SessionEntity session = sessionRepository.findByName(roomName)
+        Long sessionId = roomRegistry.resolve(roomName)
+                .orElseThrow(() -> new IllegalArgumentException("Session not found with name: " + roomName))
+                .sessionId();
+        SessionEntity session = sessionRepository.findById(sessionId)
                 .orElseThrow(() -> new IllegalArgumentException("Session not found with name: " + roomName));
         session.updateStatus(status);
+        roomRegistry.invalidate(roomName);
+
+        // 커밋된 전이만 구독자에게 push
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                sessionStatusStreams.publish(sessionId, status);
+                if (status == SessionStatus.COMPLETED) {
+                    recapCache.prewarm(roomName); // 종료 직후 몰리는 recap 조회 대비
+                }
+            }
+        });
     }
 
-    public String getSessionRecap(Long sessionId) {
-        SessionEntity session = sessionRepository.findById(sessionId)
+    // S3 조회는 RecapCache 가 캐시/재검증/동시 요청 병합, 캐시 miss 면 fetch 스레드에서 완료되는 future
+    public CompletableFuture<RecapCache.Recap> getSessionRecap(Long sessionId) {
+        String roomName = sessionRepository.findNameById(sessionId)
                 .orElseThrow(() -> new IllegalArgumentException("Session not found: " + sessionId));
-        
-        String roomName = session.getName();
-        String key = s3Service.findLatestRecapFile(roomName);
-        return s3Service.getFileContent(key);
+        return recapCache.get(roomName);
     }
 }
\ No newline at end of file
@@ -0,0 +1,169 @@
+package com.example.webrtc_signal_server.domain.session.service;
+
+import com.example.webrtc_signal_server.domain.session.entity.SessionStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 세션 상태 SSE 구독자 관리 (sessionId -> 구독자 집합).
+ * - 구독을 먼저 등록한 뒤 현재 상태를 읽어 보내고, 이후 상태 전이마다 해당 세션 구독자에게만 보냅니다.
+ * - 전송/heartbeat 는 concurrent set 을 lock 없이 순회하고, 등록/제거만 세션 key 의 bin 에서 맞춥니다.
+ * - 연결은 servlet async 로 유지되므로 대기 중인 구독자는 스레드를 잡지 않습니다.
+ * - heartbeat 마다 끊긴 연결을 정리하고, idle-timeout 동안 상태 전이가 없던 구독은 닫습니다 (EventSource 가 재연결).
+ * - COMPLETED 이후에는 더 바뀔 상태가 없으므로 보내고 닫습니다.
+ */
+@Slf4j
+@Component
+public class SessionStatusStreams {
+
+    private static final String EVENT_NAME = "status";
+
+    private final ConcurrentHashMap<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final long idleTimeoutMillis;
+
+    private final Counter sentCounter;
+    private final Counter evictedCounter;
+
+    public SessionStatusStreams(
+            MeterRegistry meterRegistry,
+            @Value("${session.status-stream.idle-timeout-ms:1800000}") long idleTimeoutMillis
+    ) {
+        this.idleTimeoutMillis = idleTimeoutMillis;
+
+        this.sentCounter = Counter.builder("session.status.stream.sent").register(meterRegistry);
+        this.evictedCounter = Counter.builder("session.status.stream.evicted")
+                .description("Subscriptions closed for idleness or a broken connection")
+                .register(meterRegistry);
+        Gauge.builder("session.status.stream.subscribers", subscriberCount, AtomicInteger::get).register(meterRegistry);
+    }
+
+    // 먼저 등록한 뒤 현재 상태를 읽어 보냄 : 읽기 전후에 커밋된 전이는 publish 로도 오므로 놓치지 않음 (중복은 허용)
+    // 현재 상태 전송과 publish 는 구독자 단위로 직렬화해서, 읽은 (더 오래된) 상태가 새 전이보다 늦게 도착하지 않게 함
+    public SseEmitter subscribe(Long sessionId, Supplier<SessionStatus> current) {
+        SseEmitter emitter = createEmitter();
+        Subscriber subscriber = new Subscriber(sessionId, emitter);
+        subscribers.compute(sessionId, (id, set) -> {
+            Set<Subscriber> target = set != null ? set : ConcurrentHashMap.newKeySet();
+            target.add(subscriber);
+            return target;
+        });
+        subscriberCount.incrementAndGet();
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        synchronized (subscriber) {
+            SessionStatus status;
+            try {
+                status = current.get();
+            } catch (RuntimeException e) {
+                remove(subscriber); // 없는 세션 등
+                throw e;
+            }
+            publishTo(subscriber, status);
+        }
+        return emitter;
+    }
+
+    // 상태 전이 (커밋 후 호출)
+    public void publish(Long sessionId, SessionStatus status) {
+        Set<Subscriber> set = subscribers.get(sessionId);
+        if (set == null) return;
+        for (Subscriber subscriber : set) {
+            publishTo(subscriber, status);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${session.status-stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        for (Set<Subscriber> set : subscribers.values()) {
+            for (Subscriber subscriber : set) {
+                if (now - subscriber.lastEventAt > idleTimeoutMillis) {
+                    evictedCounter.increment();
+                    close(subscriber);
+                } else if (!send(subscriber, SseEmitter.event().comment("heartbeat"))) {
+                    evictedCounter.increment();
+                }
+            }
+        }
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    // 테스트에서 실제 응답 없이 교체
+    SseEmitter createEmitter() {
+        return new SseEmitter(0L); // 만료는 heartbeat 의 idle 정리로 처리
+    }
+
+    private void publishTo(Subscriber subscriber, SessionStatus status) {
+        synchronized (subscriber) {
+            if (subscriber.removed.get()) return;
+            if (!send(subscriber, SseEmitter.event().name(EVENT_NAME).data(status.name()))) return;
+            subscriber.lastEventAt = System.currentTimeMillis();
+            sentCounter.increment();
+            if (status == SessionStatus.COMPLETED) {
+                close(subscriber);
+            }
+        }
+    }
+
+    // 실패한 연결은 제거하고 false
+    private boolean send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        try {
+            subscriber.emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Session status stream for session {} closed: {}", subscriber.sessionId, e.getMessage());
+            close(subscriber);
+            return false;
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        remove(subscriber);
+        try {
+            subscriber.emitter.complete();
+        } catch (IllegalStateException ignored) {
+            // 이미 완료된 emitter
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.removed.compareAndSet(false, true)) return;
+        subscriberCount.decrementAndGet();
+        subscribers.computeIfPresent(subscriber.sessionId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private static final class Subscriber {
+        private final Long sessionId;
+        private final SseEmitter emitter;
+        private final AtomicBoolean removed = new AtomicBoolean();
+        private volatile long lastEventAt = System.currentTimeMillis();
+
+        private Subscriber(Long sessionId, SseEmitter emitter) {
+            this.sessionId = sessionId;
+            this.emitter = emitter;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.webrtc_signal_server.domain.session.service;
+
+import lombok.Getter;
+
+import java.util.List;
+
+// 세션 생성 요청의 참여자 중 존재하지 않는 사용자 id 전체
+@Getter
+public class UnknownParticipantsException extends IllegalArgumentException {
+
+    private final List<Long> unknownIds;
+
+    public UnknownParticipantsException(List<Long> unknownIds) {
+        super("사용자를 찾을 수 없습니다: " + unknownIds);
+        this.unknownIds = unknownIds;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.webrtc_signal_server.domain.user.dto;
+
+import com.example.webrtc_signal_server.domain.user.entity.UserEntity;
+import com.example.webrtc_signal_server.domain.user.entity.UserRoleType;
+
+// 유저 조회 캐시에 보관하는 불변 read model (엔티티/영속성 컨텍스트와 분리)
+public record CachedUser(Long id, String username, String password, Boolean isLock, Boolean isSocial,
+                         UserRoleType roleType, String nickname, String email, Integer age, String sex,
+                         String occupation) {
+
+    public static CachedUser from(UserEntity entity) {
+        return new CachedUser(entity.getId(), entity.getUsername(), entity.getPassword(), entity.getIsLock(),
+                entity.getIsSocial(), entity.getRoleType(), entity.getNickname(), entity.getEmail(), entity.getAge(),
+                entity.getSex(), entity.getOccupation());
+    }
+
+    public UserResponseDTO toResponse() {
+        return new UserResponseDTO(id, username, nickname, email, age, sex, occupation);
+    }
+}
@@ -13,6 +13,8 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
 
     Boolean existsByUsername(String username);
 
+    Optional<UserEntity> findByUsername(String username);
+
     Optional<UserEntity> findByUsernameAndIsLockAndIsSocial(String username, Boolean isLock, Boolean isSocial);
 
     Optional<UserEntity> findByUsernameAndIsLock(String username, Boolean isLock);
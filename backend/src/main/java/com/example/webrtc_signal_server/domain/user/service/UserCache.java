@@ -0,0 +1,127 @@
+package com.example.webrtc_signal_server.domain.user.service;
+
+import com.example.webrtc_signal_server.domain.user.dto.CachedUser;
+import com.example.webrtc_signal_server.domain.user.entity.UserEntity;
+import com.example.webrtc_signal_server.domain.user.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 유저 read model 캐시 (id / username 두 개의 키).
+ * 존재하지 않는 유저는 캐시하지 않으며, 변경 시에는 즉시 + 커밋 후 한 번 더 evict 해서
+ * 커밋 전에 다시 적재된 이전 값이 남지 않도록 한다.
+ */
+@Component
+public class UserCache {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, CachedUser> byId;
+    private final Cache<String, CachedUser> byUsername;
+
+    public UserCache(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${user.cache.ttl-seconds:300}") long ttlSeconds,
+            @Value("${user.cache.max-size:10000}") long maxSize
+    ) {
+        this.userRepository = userRepository;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.byUsername = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "userById");
+        CaffeineCacheMetrics.monitor(meterRegistry, byUsername, "userByUsername");
+    }
+
+    public Optional<CachedUser> findByUsername(String username) {
+        CachedUser user = byUsername.get(username, key -> userRepository.findByUsername(key)
+                .map(CachedUser::from)
+                .orElse(null));
+        if (user != null) byId.put(user.id(), user);
+        return Optional.ofNullable(user);
+    }
+
+    public Optional<CachedUser> findById(Long id) {
+        CachedUser user = byId.get(id, key -> userRepository.findById(key)
+                .map(CachedUser::from)
+                .orElse(null));
+        if (user != null) byUsername.put(user.username(), user);
+        return Optional.ofNullable(user);
+    }
+
+    // id -> nickname 일괄 조회 (캐시에 없는 id 만 findAllById 한 번으로 적재)
+    public Map<Long, String> findNicknames(Collection<Long> ids) {
+        if (ids.isEmpty()) return Map.of();
+
+        Map<Long, CachedUser> users = byId.getAll(ids, missing -> {
+            Map<Long, CachedUser> loaded = new HashMap<>();
+            for (UserEntity entity : userRepository.findAllById(new ArrayList<>(missing))) {
+                loaded.put(entity.getId(), CachedUser.from(entity));
+            }
+            return loaded;
+        });
+
+        Map<Long, String> nicknames = new HashMap<>();
+        users.forEach((id, user) -> {
+            if (user.nickname() != null) nicknames.put(id, user.nickname());
+        });
+        return nicknames;
+    }
+
+    public void evict(Long id, String username) {
+        evictNow(id, username);
+        afterCommit(() -> evictNow(id, username));
+    }
+
+    // id 를 모르는 경우 (username 기준 삭제 등)
+    public void evictUsername(String username) {
+        evictNow(null, username);
+        afterCommit(() -> evictNow(null, username));
+    }
+
+    private void evictNow(Long id, String username) {
+        if (id != null) byId.invalidate(id);
+        if (username != null) {
+            byUsername.invalidate(username);
+            if (id == null) {
+                Set<Long> ids = byId.asMap().values().stream()
+                        .filter(user -> username.equals(user.username()))
+                        .map(CachedUser::id)
+                        .collect(Collectors.toSet());
+                byId.invalidateAll(ids);
+            }
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.run();
+            }
+        });
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.webrtc_signal_server.domain.user.service;
 
 import com.example.webrtc_signal_server.domain.jwt.service.JwtService;
+import com.example.webrtc_signal_server.domain.user.dto.CachedUser;
 import com.example.webrtc_signal_server.domain.user.dto.CustomOAuth2User;
 import com.example.webrtc_signal_server.domain.user.dto.UserRequestDTO;
 import com.example.webrtc_signal_server.domain.user.dto.UserResponseDTO;
@@ -15,6 +16,7 @@ import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -30,16 +32,18 @@ import java.util.Map;
 import java.util.Optional;
 
 @Service
-public class UserService extends DefaultOAuth2UserService implements UserDetailsService {
+public class UserService extends DefaultOAuth2UserService implements UserDetailsService, UserDetailsPasswordService {
 
     private final PasswordEncoder passwordEncoder;
     private final UserRepository userRepository;
     private final JwtService jwtService;
+    private final UserCache userCache;
 
-    public UserService(PasswordEncoder passwordEncoder, UserRepository userRepository, JwtService jwtService) {
+    public UserService(PasswordEncoder passwordEncoder, UserRepository userRepository, JwtService jwtService, UserCache userCache) {
         this.passwordEncoder = passwordEncoder;
         this.userRepository = userRepository;
         this.jwtService = jwtService;
+        this.userCache = userCache;
     }
 
     // 자체 로그인 회원 가입 (존재 여부) front에서 중복확인 눌렀을때 백엔드 api 호출
@@ -64,21 +68,38 @@ public class UserService extends DefaultOAuth2UserService implements UserDetails
                 .email(dto.getEmail())
                 .build();
 
-        return userRepository.save(entity).getId();
+        Long id = userRepository.save(entity).getId();
+        userCache.evict(id, entity.getUsername());
+        return id;
     }
-    // 자체 로그인
-    @Transactional(readOnly = true)
+    // 자체 로그인 (유저 캐시 조회)
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
 
-        UserEntity entity = userRepository.findByUsernameAndIsLockAndIsSocial(username, false, false)
+        CachedUser user = userCache.findByUsername(username)
+                .filter(u -> !u.isLock() && !u.isSocial())
                 .orElseThrow(() -> new UsernameNotFoundException(username));
 
         return User.builder()
-                .username(entity.getUsername())
-                .password(entity.getPassword())
-                .roles(entity.getRoleType().name())
-                .accountLocked(entity.getIsLock())
+                .username(user.username())
+                .password(user.password())
+                .roles(user.roleType().name())
+                .accountLocked(user.isLock())
+                .build();
+    }
+
+    // 자체 로그인 성공 시 낮은 cost 의 BCrypt 해시를 설정된 cost 로 재암호화 (DaoAuthenticationProvider 가 호출)
+    @Transactional
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.findByUsernameAndIsLockAndIsSocial(user.getUsername(), false, false)
+                .ifPresent(entity -> {
+                    entity.updatePassword(newPassword);
+                    userCache.evict(entity.getId(), entity.getUsername());
+                });
+
+        return User.withUserDetails(user)
+                .password(newPassword)
                 .build();
     }
 
@@ -102,7 +123,9 @@ public class UserService extends DefaultOAuth2UserService implements UserDetails
             entity.updatePassword(passwordEncoder.encode(dto.getPassword()));
         }
 
-        return userRepository.save(entity).getId();
+        Long id = userRepository.save(entity).getId();
+        userCache.evict(id, entity.getUsername());
+        return id;
     }
 
 
@@ -124,6 +147,7 @@ public class UserService extends DefaultOAuth2UserService implements UserDetails
 
         // 유저 제거
         userRepository.deleteByUsername(dto.getUsername());
+        userCache.evictUsername(dto.getUsername());
 
         // Refresh 토큰 제거
         jwtService.removeRefreshUser(dto.getUsername());
@@ -165,8 +189,9 @@ public class UserService extends DefaultOAuth2UserService implements UserDetails
             throw new OAuth2AuthenticationException("지원하지 않는 소셜 로그인입니다.");
         }
 
-        // 데이터베이스 조회 -> 존재하면 가만히, 없으면 신규 가입
-        Optional<UserEntity> entity = userRepository.findByUsernameAndIsSocial(username, true);
+        // 유저 캐시(없으면 DB) 조회 -> 존재하면 가만히, 없으면 신규 가입
+        Optional<CachedUser> entity = userCache.findByUsername(username)
+                .filter(CachedUser::isSocial);
 
         if (entity.isEmpty()) {
             // 신규 유저 추가
@@ -181,6 +206,7 @@ public class UserService extends DefaultOAuth2UserService implements UserDetails
                     .email(email)
                     .build();
             userRepository.save(newUserEntity);
+            userCache.evict(newUserEntity.getId(), username);
         }
 
         authorities = List.of(new SimpleGrantedAuthority(role));
@@ -188,14 +214,14 @@ public class UserService extends DefaultOAuth2UserService implements UserDetails
         return new CustomOAuth2User(attributes, authorities, username);
     }
 
-    //소셜 유저 정보 조회
-    @Transactional(readOnly = true)
+    //소셜 유저 정보 조회 (유저 캐시 조회)
     public UserResponseDTO readUser() {
         String username =  SecurityContextHolder.getContext().getAuthentication().getName();
 
-        UserEntity entity = userRepository.findByUsernameAndIsLock(username, false)
+        CachedUser user = userCache.findByUsername(username)
+                .filter(u -> !u.isLock())
                 .orElseThrow(() -> new UsernameNotFoundException("해당 유저를 찾을 수 없습니다: " + username));
 
-        return new UserResponseDTO(entity.getId(), username,entity.getNickname(), entity.getEmail(), entity.getAge(), entity.getSex(), entity.getOccupation());
+        return user.toResponse();
     }
 }
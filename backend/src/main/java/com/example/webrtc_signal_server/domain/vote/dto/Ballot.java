@@ -0,0 +1,79 @@
+package com.example.webrtc_signal_server.domain.vote.dto;
+
+import com.example.webrtc_signal_server.domain.vote.entity.VoteType;
+
+import java.util.List;
+
+/**
+ * 한 사람의 투표 내용. 선택지는 position(0..n-1) 으로 다룹니다.
+ * - SINGLE   : primary 만 사용, data 없음
+ * - RANKED   : data = 선호 순서대로의 position 배열 (중복 없음), primary = 1순위
+ * - WEIGHTED : data = position 별 가중치 (0..255), primary = 가중치가 가장 큰 선택지
+ * data 는 unsigned byte 배열 그대로 vote_result.ballot 에 저장되므로 RANKED/WEIGHTED 는 선택지 255 개까지입니다.
+ */
+public record Ballot(VoteType type, int primary, byte[] data) {
+
+    public static final int MAX_OPTIONS = 255;
+    public static final int MAX_WEIGHT = 255;
+
+    public static Ballot single(int position) {
+        return new Ballot(VoteType.SINGLE, position, null);
+    }
+
+    public static Ballot ranked(List<Integer> ranking, int optionCount) {
+        checkOptionCount(optionCount);
+        if (ranking.isEmpty() || ranking.size() > optionCount) {
+            throw new IllegalArgumentException("Ranking must list 1.." + optionCount + " options");
+        }
+        boolean[] seen = new boolean[optionCount];
+        byte[] data = new byte[ranking.size()];
+        for (int i = 0; i < data.length; i++) {
+            Integer position = ranking.get(i);
+            if (position == null || position < 0 || position >= optionCount) {
+                throw new IllegalArgumentException("Unknown option: " + position);
+            }
+            if (seen[position]) {
+                throw new IllegalArgumentException("Option ranked twice: " + position);
+            }
+            seen[position] = true;
+            data[i] = (byte) position.intValue();
+        }
+        return new Ballot(VoteType.RANKED, ranking.get(0), data);
+    }
+
+    public static Ballot weighted(List<Integer> weights, int optionCount) {
+        checkOptionCount(optionCount);
+        if (weights.size() != optionCount) {
+            throw new IllegalArgumentException("Weights must be given for all " + optionCount + " options");
+        }
+        byte[] data = new byte[optionCount];
+        int primary = -1;
+        int max = 0;
+        for (int i = 0; i < optionCount; i++) {
+            Integer weight = weights.get(i);
+            if (weight == null || weight < 0 || weight > MAX_WEIGHT) {
+                throw new IllegalArgumentException("Weight must be 0.." + MAX_WEIGHT + ": " + weight);
+            }
+            if (weight > max) {
+                max = weight;
+                primary = i;
+            }
+            data[i] = (byte) weight.intValue();
+        }
+        if (primary < 0) {
+            throw new IllegalArgumentException("At least one weight must be positive");
+        }
+        return new Ballot(VoteType.WEIGHTED, primary, data);
+    }
+
+    // position i 의 가중치 (WEIGHTED)
+    public int weight(int position) {
+        return data[position] & 0xFF;
+    }
+
+    private static void checkOptionCount(int optionCount) {
+        if (optionCount > MAX_OPTIONS) {
+            throw new IllegalArgumentException("Too many options for this vote type: " + optionCount);
+        }
+    }
+}
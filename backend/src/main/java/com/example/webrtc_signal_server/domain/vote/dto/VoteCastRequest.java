@@ -3,10 +3,15 @@ package com.example.webrtc_signal_server.domain.vote.dto;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @NoArgsConstructor
 public class VoteCastRequest {
     private Long voteId;
     private String voterId;
     private String selectedOption;
+    private Long optionId; // 있으면 selectedOption(label) 대신 사용
+    private List<Integer> ranking; // RANKED : 선호 순서의 option position
+    private List<Integer> weights; // WEIGHTED : position 별 가중치 (0..255)
 }
@@ -0,0 +1,4 @@
+package com.example.webrtc_signal_server.domain.vote.dto;
+
+public record VoteCastResponse(VoteCastResult result) {
+}
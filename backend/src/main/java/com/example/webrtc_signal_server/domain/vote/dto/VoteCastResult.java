@@ -0,0 +1,20 @@
+package com.example.webrtc_signal_server.domain.vote.dto;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+// 투표 제출 결과 (같은 voter 의 재시도/중복 요청은 항상 ALREADY_VOTED)
+public enum VoteCastResult {
+    RECORDED("recorded"),
+    ALREADY_VOTED("already_voted");
+
+    private final String value;
+
+    VoteCastResult(String value) {
+        this.value = value;
+    }
+
+    @JsonValue
+    public String getValue() {
+        return value;
+    }
+}
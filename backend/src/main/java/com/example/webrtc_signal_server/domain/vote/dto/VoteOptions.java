@@ -0,0 +1,78 @@
+package com.example.webrtc_signal_server.domain.vote.dto;
+
+import com.example.webrtc_signal_server.domain.vote.entity.VoteOption;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 한 투표의 선택지 목록 (position 순서, 불변).
+ * 집계는 position(0..n-1) 을 배열 index 로 쓰고, 저장/조회는 option id 를, 응답은 label 을 사용합니다.
+ */
+public final class VoteOptions {
+
+    private final List<Long> ids;
+    private final List<String> labels;
+    private final Map<Long, Integer> indexById;
+    private final Map<String, Integer> indexByLabel;
+
+    public VoteOptions(List<Long> ids, List<String> labels) {
+        if (ids.size() != labels.size()) {
+            throw new IllegalArgumentException("Option ids and labels differ in size");
+        }
+        this.ids = List.copyOf(ids);
+        this.labels = List.copyOf(labels);
+        Map<Long, Integer> indexById = new HashMap<>();
+        Map<String, Integer> indexByLabel = new HashMap<>();
+        for (int i = 0; i < this.ids.size(); i++) {
+            indexById.put(this.ids.get(i), i);
+            indexByLabel.putIfAbsent(this.labels.get(i), i);
+        }
+        this.indexById = Map.copyOf(indexById);
+        this.indexByLabel = Map.copyOf(indexByLabel);
+    }
+
+    // position 순으로 정렬된 선택지 엔티티에서
+    public static VoteOptions from(List<VoteOption> options) {
+        List<Long> ids = new ArrayList<>(options.size());
+        List<String> labels = new ArrayList<>(options.size());
+        for (VoteOption option : options) {
+            ids.add(option.getId());
+            labels.add(option.getLabel());
+        }
+        return new VoteOptions(ids, labels);
+    }
+
+    public int size() {
+        return ids.size();
+    }
+
+    public Long id(int index) {
+        return ids.get(index);
+    }
+
+    public String label(int index) {
+        return labels.get(index);
+    }
+
+    public List<String> labels() {
+        return labels;
+    }
+
+    public List<Long> ids() {
+        return ids;
+    }
+
+    // 없는 선택지면 -1
+    public int indexOf(Long optionId) {
+        Integer index = optionId == null ? null : indexById.get(optionId);
+        return index == null ? -1 : index;
+    }
+
+    public int indexOfLabel(String label) {
+        Integer index = label == null ? null : indexByLabel.get(label);
+        return index == null ? -1 : index;
+    }
+}
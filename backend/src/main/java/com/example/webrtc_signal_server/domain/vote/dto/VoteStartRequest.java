@@ -1,5 +1,6 @@
 package com.example.webrtc_signal_server.domain.vote.dto;
 
+import com.example.webrtc_signal_server.domain.vote.entity.VoteType;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -10,6 +11,8 @@ import java.util.List;
 public class VoteStartRequest {
     private String roomName;
     private String topic;
+    private VoteType type; // 선택, 없으면 SINGLE
     private List<String> options;
     private String proposerId;
+    private Long durationSeconds; // 선택, 지정하면 시작 후 자동 마감
 }
@@ -8,11 +8,14 @@ import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Getter
 @Entity
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @EntityListeners(AuditingEntityListener.class)
+@Table(indexes = @Index(name = "idx_vote_room_name_id", columnList = "room_name, id"))
 public class Vote {
 
     @Id
@@ -25,9 +28,10 @@ public class Vote {
     @Column(nullable = false)
     private String topic;
 
-    @Lob
-    @Column(nullable = false)
-    private String options; // JSON string of List<String>
+    // 예전 options JSON 컬럼의 데이터는 backend/db/vote_option_backfill.sql 로 옮김
+    @OneToMany(mappedBy = "vote", cascade = CascadeType.PERSIST)
+    @OrderBy("position asc")
+    private List<VoteOption> options = new ArrayList<>();
 
     @Column(nullable = false)
     private String proposerId;
@@ -36,20 +40,36 @@ public class Vote {
     @Column(nullable = false)
     private VoteStatus status;
 
+    // null 은 이 컬럼이 생기기 전의 투표 (SINGLE)
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private VoteType type;
+
+    // 자동 마감 시각 (null 이면 수동 마감만)
+    private LocalDateTime closesAt;
+
     @CreatedDate
     @Column(updatable = false)
     private LocalDateTime createdAt;
 
-    public static Vote of(String roomName, String topic, String options, String proposerId) {
+    public static Vote of(String roomName, String topic, VoteType type, List<String> options, String proposerId, LocalDateTime closesAt) {
         Vote vote = new Vote();
+        vote.type = type;
         vote.roomName = roomName;
         vote.topic = topic;
-        vote.options = options;
         vote.proposerId = proposerId;
         vote.status = VoteStatus.OPEN;
+        vote.closesAt = closesAt;
+        for (int i = 0; i < options.size(); i++) {
+            vote.options.add(VoteOption.of(vote, i, options.get(i)));
+        }
         return vote;
     }
 
+    public VoteType getType() {
+        return type == null ? VoteType.SINGLE : type;
+    }
+
     public void close() {
         this.status = VoteStatus.CLOSED;
     }
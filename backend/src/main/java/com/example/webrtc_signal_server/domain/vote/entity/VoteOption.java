@@ -0,0 +1,37 @@
+package com.example.webrtc_signal_server.domain.vote.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 투표 선택지 (투표 안에서 position 순서, id 는 투표 내역이 참조하는 고정 키)
+@Getter
+@Entity
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "vote_option",
+        uniqueConstraints = @UniqueConstraint(name = "uk_vote_option_position", columnNames = {"vote_id", "position"}))
+public class VoteOption {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "vote_id", nullable = false)
+    private Vote vote;
+
+    @Column(nullable = false)
+    private int position;
+
+    @Column(nullable = false)
+    private String label;
+
+    public static VoteOption of(Vote vote, int position, String label) {
+        VoteOption option = new VoteOption();
+        option.vote = vote;
+        option.position = position;
+        option.label = label;
+        return option;
+    }
+}
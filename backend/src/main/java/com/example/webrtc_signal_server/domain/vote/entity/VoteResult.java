@@ -1,5 +1,6 @@
 package com.example.webrtc_signal_server.domain.vote.entity;
 
+import com.example.webrtc_signal_server.domain.vote.dto.Ballot;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -9,10 +10,12 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
 
+// 투표자당 한 표 (uk_vote_result_vote_voter) : 기존 DB 의 중복 표는 backend/db/vote_result_dedupe.sql 로 먼저 정리
 @Getter
 @Entity
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @EntityListeners(AuditingEntityListener.class)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_vote_result_vote_voter", columnNames = {"vote_id", "voter_id"}))
 public class VoteResult {
 
     @Id
@@ -26,18 +29,24 @@ public class VoteResult {
     @Column(nullable = false)
     private String voterId;
 
-    @Column(nullable = false)
-    private String selectedOption;
+    // 예전 selected_option 문자열은 backend/db/vote_option_backfill.sql 로 option_id 로 바꿈
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "option_id", nullable = false)
+    private VoteOption option; // RANKED 는 1순위, WEIGHTED 는 가중치가 가장 큰 선택지
+
+    // RANKED/WEIGHTED 의 전체 ballot (Ballot.data, option position 배열), SINGLE 은 null
+    @Column(length = Ballot.MAX_OPTIONS)
+    private byte[] ballot;
 
     @CreatedDate
     @Column(updatable = false)
     private LocalDateTime createdAt;
 
-    public static VoteResult of(Vote vote, String voterId, String selectedOption) {
+    public static VoteResult of(Vote vote, String voterId, VoteOption option) {
         VoteResult voteResult = new VoteResult();
         voteResult.vote = vote;
         voteResult.voterId = voterId;
-        voteResult.selectedOption = selectedOption;
+        voteResult.option = option;
         return voteResult;
     }
 }
@@ -0,0 +1,71 @@
+package com.example.webrtc_signal_server.domain.vote.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.domain.Persistable;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * 마감된 투표의 최종 결과 (마감 트랜잭션에서 한 번 기록, 이후 변경 없음).
+ * 선택지별 득표 수와 투표자 닉네임 목록을 JSON 으로 비정규화해 두어 조회 시 집계/닉네임 조회가 필요 없다.
+ */
+@Getter
+@Entity
+@Immutable
+@Table(name = "vote_result_snapshot")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@EntityListeners(AuditingEntityListener.class)
+public class VoteResultSnapshot implements Persistable<Long> {
+
+    // Vote 의 id 를 그대로 사용
+    @Id
+    private Long voteId;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String countsJson; // {"option": count, ...} (선택지 순서)
+
+    @Column(nullable = false, columnDefinition = "MEDIUMTEXT")
+    private String votersJson; // {"option": ["nickname", ...], ...}
+
+    @Column(nullable = false)
+    private int voterCount;
+
+    @CreatedDate
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    // id 를 직접 지정하므로 save 시 merge(SELECT) 대신 persist 되도록
+    @Transient
+    private boolean isNew = true;
+
+    public static VoteResultSnapshot of(Long voteId, String countsJson, String votersJson, int voterCount) {
+        VoteResultSnapshot snapshot = new VoteResultSnapshot();
+        snapshot.voteId = voteId;
+        snapshot.countsJson = countsJson;
+        snapshot.votersJson = votersJson;
+        snapshot.voterCount = voterCount;
+        return snapshot;
+    }
+
+    @Override
+    public Long getId() {
+        return voteId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
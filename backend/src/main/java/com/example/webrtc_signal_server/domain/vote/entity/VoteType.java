@@ -0,0 +1,7 @@
+package com.example.webrtc_signal_server.domain.vote.entity;
+
+public enum VoteType {
+    SINGLE,   // 단일 선택 (다수결)
+    RANKED,   // 선호 순위 (instant-runoff)
+    WEIGHTED  // 선택지별 가중치 (합산)
+}
@@ -0,0 +1,22 @@
+package com.example.webrtc_signal_server.domain.vote.repository;
+
+import com.example.webrtc_signal_server.domain.vote.entity.VoteOption;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface VoteOptionRepository extends JpaRepository<VoteOption, Long> {
+
+    // 여러 투표의 선택지를 한 번에 (투표별 position 순)
+    @Query("select o.vote.id as voteId, o.id as id, o.label as label from VoteOption o where o.vote.id in :voteIds order by o.vote.id, o.position")
+    List<OptionView> findViewsByVoteIds(@Param("voteIds") Collection<Long> voteIds);
+
+    interface OptionView {
+        Long getVoteId();
+        Long getId();
+        String getLabel();
+    }
+}
@@ -1,10 +1,34 @@
 package com.example.webrtc_signal_server.domain.vote.repository;
 
 import com.example.webrtc_signal_server.domain.vote.entity.Vote;
+import com.example.webrtc_signal_server.domain.vote.entity.VoteStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface VoteRepository extends JpaRepository<Vote, Long> {
-    List<Vote> findAllByRoomName(String roomName);
+    // keyset 페이지 : afterId 다음부터 id 오름차순
+    @Query("select v from Vote v where v.roomName = :roomName and v.id > :afterId order by v.id asc")
+    List<Vote> findRoomPage(@Param("roomName") String roomName, @Param("afterId") long afterId, Pageable pageable);
+
+    List<Vote> findAllByStatus(VoteStatus status);
+
+    @Query("select v.roomName from Vote v where v.id = :id")
+    Optional<String> findRoomNameById(@Param("id") Long id);
+
+    @Query("select v.status from Vote v where v.id = :id")
+    Optional<VoteStatus> findStatusById(@Param("id") Long id);
+
+    List<Vote> findAllByStatusAndClosesAtIsNotNull(VoteStatus status);
+
+    // 수동 마감과 자동 마감이 겹쳐도 한 번만 마감되도록 행 잠금
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select v from Vote v where v.id = :id")
+    Optional<Vote> findByIdForUpdate(@Param("id") Long id);
 }
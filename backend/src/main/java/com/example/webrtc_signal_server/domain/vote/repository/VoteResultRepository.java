@@ -2,9 +2,35 @@ package com.example.webrtc_signal_server.domain.vote.repository;
 
 import com.example.webrtc_signal_server.domain.vote.entity.VoteResult;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface VoteResultRepository extends JpaRepository<VoteResult, Long> {
-    List<VoteResult> findAllByVote_Id(Long voteId);
+    // 여러 투표의 투표 내역을 한 번에 (엔티티/Vote 로딩 없이)
+    @Query("select r.vote.id as voteId, r.voterId as voterId, r.option.id as optionId from VoteResult r where r.vote.id in :voteIds order by r.id")
+    List<BallotView> findBallotsByVoteIds(@Param("voteIds") Collection<Long> voteIds);
+
+    @Query("select r.option.id as optionId, count(r) as votes from VoteResult r where r.vote.id = :voteId group by r.option.id")
+    List<OptionCount> countByOption(@Param("voteId") Long voteId);
+
+    // RANKED/WEIGHTED 의 ballot 배열 (집계 재계산용)
+    @Query("select r.ballot from VoteResult r where r.vote.id = :voteId")
+    List<byte[]> findBallotData(@Param("voteId") Long voteId);
+
+    @Query("select distinct r.voterId from VoteResult r where r.vote.id = :voteId")
+    List<String> findVoterIds(@Param("voteId") Long voteId);
+
+    interface BallotView {
+        Long getVoteId();
+        String getVoterId();
+        Long getOptionId();
+    }
+
+    interface OptionCount {
+        Long getOptionId();
+        Long getVotes();
+    }
 }
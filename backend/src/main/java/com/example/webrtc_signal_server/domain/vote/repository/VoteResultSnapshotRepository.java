@@ -0,0 +1,7 @@
+package com.example.webrtc_signal_server.domain.vote.repository;
+
+import com.example.webrtc_signal_server.domain.vote.entity.VoteResultSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface VoteResultSnapshotRepository extends JpaRepository<VoteResultSnapshot, Long> {
+}
@@ -0,0 +1,169 @@
+package com.example.webrtc_signal_server.domain.vote.service;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * RANKED 투표의 instant-runoff 집계.
+ * 모든 상태를 primitive 배열로 두고, 선택지별로 "현재 그 선택지를 가리키는 ballot" 의 연결 리스트(head/next)를 유지합니다.
+ * 라운드마다 전체 ballot 을 다시 세지 않고 탈락한 선택지의 ballot 만 다음 순위로 옮기므로
+ * 전체 비용은 O(ballot 들의 순위 수 합 + 라운드 수 x 선택지 수) 이고, 라운드 중에는 객체를 만들지 않습니다.
+ * - 과반 : 남은 (소진되지 않은) ballot 의 절반 초과
+ * - 탈락 : 최소 득표 선택지, 동률이면 position 이 가장 뒤인 것
+ */
+public final class InstantRunoffTally {
+
+    private InstantRunoffTally() {
+    }
+
+    // ballots : 선호 순서의 option position 배열 (vote_result.ballot), null 은 빈 ballot 으로 처리
+    public static Result count(int optionCount, List<byte[]> ballots) {
+        int n = ballots.size();
+
+        // ballot 들을 하나의 배열로 펼침
+        int total = 0;
+        for (byte[] ballot : ballots) {
+            if (ballot != null) total += ballot.length;
+        }
+        byte[] prefs = new byte[total];
+        int[] end = new int[n];
+        int[] cursor = new int[n];
+        int offset = 0;
+        for (int b = 0; b < n; b++) {
+            byte[] ballot = ballots.get(b);
+            cursor[b] = offset;
+            if (ballot != null) {
+                System.arraycopy(ballot, 0, prefs, offset, ballot.length);
+                offset += ballot.length;
+            }
+            end[b] = offset;
+        }
+
+        int[] head = new int[optionCount];
+        int[] next = new int[n];
+        long[] counts = new long[optionCount];
+        boolean[] eliminated = new boolean[optionCount];
+        Arrays.fill(head, -1);
+
+        // 라운드 수는 최대 선택지 수
+        long[] roundCounts = new long[optionCount * Math.max(1, optionCount)];
+        int[] roundEliminated = new int[Math.max(1, optionCount)];
+        long[] roundExhausted = new long[Math.max(1, optionCount)];
+
+        long exhausted = 0;
+        for (int b = 0; b < n; b++) {
+            int option = advance(b, prefs, cursor, end, eliminated, optionCount);
+            if (option < 0) {
+                exhausted++;
+            } else {
+                next[b] = head[option];
+                head[option] = b;
+                counts[option]++;
+            }
+        }
+
+        int remaining = optionCount;
+        int rounds = 0;
+        int winner = -1;
+        while (true) {
+            System.arraycopy(counts, 0, roundCounts, rounds * optionCount, optionCount);
+            roundExhausted[rounds] = exhausted;
+            roundEliminated[rounds] = -1;
+
+            long continuing = n - exhausted;
+            int top = -1;
+            int bottom = -1;
+            for (int i = 0; i < optionCount; i++) {
+                if (eliminated[i]) continue;
+                if (top < 0 || counts[i] > counts[top]) top = i;
+                if (bottom < 0 || counts[i] <= counts[bottom]) bottom = i;
+            }
+            rounds++;
+
+            if (top < 0 || continuing == 0) break;
+            if (counts[top] * 2 > continuing || remaining == 1) {
+                winner = top;
+                break;
+            }
+
+            // bottom 탈락 : 그 선택지를 가리키던 ballot 만 다음 순위로 이동
+            eliminated[bottom] = true;
+            remaining--;
+            roundEliminated[rounds - 1] = bottom;
+            int b = head[bottom];
+            while (b >= 0) {
+                int following = next[b];
+                int option = advance(b, prefs, cursor, end, eliminated, optionCount);
+                if (option < 0) {
+                    exhausted++;
+                } else {
+                    next[b] = head[option];
+                    head[option] = b;
+                    counts[option]++;
+                }
+                b = following;
+            }
+            head[bottom] = -1;
+            counts[bottom] = 0;
+        }
+
+        return new Result(optionCount, rounds, roundCounts, roundEliminated, roundExhausted, winner);
+    }
+
+    // 탈락하지 않은 다음 선호 선택지, 없으면 -1 (cursor 는 그 위치에 멈춤)
+    private static int advance(int b, byte[] prefs, int[] cursor, int[] end, boolean[] eliminated, int optionCount) {
+        int c = cursor[b];
+        while (c < end[b]) {
+            int option = prefs[c] & 0xFF;
+            if (option < optionCount && !eliminated[option]) {
+                cursor[b] = c + 1;
+                return option;
+            }
+            c++;
+        }
+        cursor[b] = c;
+        return -1;
+    }
+
+    public static final class Result {
+
+        private final int optionCount;
+        private final int rounds;
+        private final long[] counts;
+        private final int[] eliminated;
+        private final long[] exhausted;
+        private final int winner;
+
+        private Result(int optionCount, int rounds, long[] counts, int[] eliminated, long[] exhausted, int winner) {
+            this.optionCount = optionCount;
+            this.rounds = rounds;
+            this.counts = counts;
+            this.eliminated = eliminated;
+            this.exhausted = exhausted;
+            this.winner = winner;
+        }
+
+        public int rounds() {
+            return rounds;
+        }
+
+        public long count(int round, int option) {
+            return counts[round * optionCount + option];
+        }
+
+        // 해당 라운드 후 탈락한 선택지, 마지막 라운드는 -1
+        public int eliminated(int round) {
+            return eliminated[round];
+        }
+
+        // 해당 라운드까지 모든 순위가 탈락해 소진된 ballot 수
+        public long exhausted(int round) {
+            return exhausted[round];
+        }
+
+        // ballot 이 없으면 -1
+        public int winner() {
+            return winner;
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.example.webrtc_signal_server.domain.vote.service;
+
+import com.example.webrtc_signal_server.domain.vote.dto.Ballot;
+import com.example.webrtc_signal_server.domain.vote.dto.VoteCastResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 투표 cast 를 모아서 저장합니다 (group commit).
+ * - 요청은 bounded queue 에 넣고 (가득 차면 {@link VoteCastBusyException}), 반환된 future 는 행이 커밋된 뒤에 완료됩니다.
+ *   응답은 이 future 로 보내므로 RECORDED 는 항상 저장된 cast 에만 나갑니다 (프로세스가 죽어도 응답한 cast 는 유실되지 않음).
+ * - writer 스레드가 flush-interval 마다, 또는 batch-size 만큼 모이면 multi-row INSERT 한 번으로 저장합니다.
+ *   VoteResult 는 IDENTITY 라 Hibernate 배치가 꺼지므로 JDBC 로 직접 씁니다.
+ * - 배치가 실패하면 (DB 장애로 트랜잭션을 못 여는 경우 포함) 한 건씩 다시 쓰고, 그래도 실패한 cast 는 live tally 에서 되돌리고
+ *   future 를 {@link VoteCastBusyException} 으로 완료합니다. writer 스레드는 어떤 예외에도 멈추지 않습니다.
+ * - closeVote 는 {@link #drain(Long)} 으로 해당 투표의 남은 cast 를 먼저 저장하고, drain-timeout 안에 끝나지 않으면 마감을 실패시킵니다.
+ */
+@Slf4j
+@Component
+public class VoteCastBuffer {
+
+    private static final String INSERT_PREFIX = "insert into vote_result (vote_id, voter_id, option_id, ballot, created_at) values ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?)";
+    private static final int COLUMNS = 5;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final VoteTallyEngine voteTallyEngine;
+
+    private final BlockingQueue<PendingCast> queue;
+    private final ConcurrentHashMap<Long, AtomicInteger> pendingByVote = new ConcurrentHashMap<>();
+    private final Object flushed = new Object();
+
+    private final long offerTimeoutMillis;
+    private final long flushIntervalMillis;
+    private final int batchSize;
+    private final long retryAfterSeconds;
+    private final long drainTimeoutMillis;
+
+    private final Counter acceptedCounter;
+    private final Counter rejectedCounter;
+    private final Counter droppedCounter;
+    private final DistributionSummary batchRows;
+    private final Timer flushTimer;
+
+    private Thread writer;
+    private volatile boolean running = true;
+
+    public VoteCastBuffer(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            VoteTallyEngine voteTallyEngine,
+            MeterRegistry meterRegistry,
+            @Value("${vote.cast.queue-capacity:10000}") int queueCapacity,
+            @Value("${vote.cast.offer-timeout-ms:50}") long offerTimeoutMillis,
+            @Value("${vote.cast.flush-interval-ms:50}") long flushIntervalMillis,
+            @Value("${vote.cast.batch-size:500}") int batchSize,
+            @Value("${vote.cast.retry-after-seconds:1}") long retryAfterSeconds,
+            @Value("${vote.cast.drain-timeout-ms:10000}") long drainTimeoutMillis
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.voteTallyEngine = voteTallyEngine;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.batchSize = batchSize;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.drainTimeoutMillis = drainTimeoutMillis;
+
+        // 호출자 트랜잭션(closeVote 등)이 롤백돼도 이미 응답한 cast 는 남아야 하므로 항상 별도 트랜잭션
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        this.acceptedCounter = Counter.builder("vote.cast.accepted").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("vote.cast.rejected")
+                .description("Casts refused because the write-behind queue was full")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("vote.cast.dropped")
+                .description("Accepted casts that could not be persisted")
+                .register(meterRegistry);
+        this.batchRows = DistributionSummary.builder("vote.cast.batch.rows").register(meterRegistry);
+        this.flushTimer = Timer.builder("vote.cast.flush").register(meterRegistry);
+        Gauge.builder("vote.cast.queue", queue, BlockingQueue::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer = new Thread(this::runWriter, "vote-cast-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // 큐에 들어가면 반환 (backpressure : offer-timeout 안에 자리가 안 나면 VoteCastBusyException)
+    // future : 저장되면 RECORDED, 이미 저장된 투표자면 ALREADY_VOTED, 저장하지 못하면 VoteCastBusyException
+    public CompletableFuture<VoteCastResult> enqueue(Long voteId, String voterId, Long optionId, Ballot ballot) {
+        PendingCast cast = new PendingCast(voteId, voterId, optionId, ballot, LocalDateTime.now(), new CompletableFuture<>());
+        AtomicInteger pending = pendingByVote.computeIfAbsent(voteId, id -> new AtomicInteger());
+        pending.incrementAndGet();
+
+        boolean accepted;
+        try {
+            accepted = queue.offer(cast, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+
+        if (!accepted) {
+            pending.decrementAndGet();
+            rejectedCounter.increment();
+            throw new VoteCastBusyException(retryAfterSeconds);
+        }
+        acceptedCounter.increment();
+        return cast.ack();
+    }
+
+    // 해당 투표의 큐 대기 cast 는 호출 스레드에서 바로 저장하고, writer 가 들고 있는 cast 가 끝날 때까지 대기
+    public void drain(Long voteId) {
+        List<PendingCast> own = new ArrayList<>();
+        queue.removeIf(cast -> {
+            if (!cast.voteId().equals(voteId)) return false;
+            own.add(cast);
+            return true;
+        });
+        if (!own.isEmpty()) {
+            write(own);
+        }
+
+        AtomicInteger pending = pendingByVote.get(voteId);
+        if (pending == null) return;
+
+        long deadline = System.currentTimeMillis() + drainTimeoutMillis;
+        synchronized (flushed) {
+            while (pending.get() > 0) {
+                if (System.currentTimeMillis() >= deadline) {
+                    throw new IllegalStateException("Timed out draining vote casts: " + voteId);
+                }
+                try {
+                    flushed.wait(flushIntervalMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while draining vote casts: " + voteId, e);
+                }
+            }
+        }
+        pendingByVote.remove(voteId, pending);
+    }
+
+    private void runWriter() {
+        List<PendingCast> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                try {
+                    write(batch);
+                } catch (RuntimeException e) {
+                    // write 는 스스로 예외를 처리하므로 여기까지 오면 버그 : 배치는 release 됐고 writer 는 계속 동작
+                    log.error("Vote cast writer failed on a batch of {}", batch.size(), e);
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    // 첫 cast 이후 flush-interval 이 지나거나 batch-size 가 차면 반환
+    private void collect(List<PendingCast> batch) throws InterruptedException {
+        PendingCast first = running ? queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS) : queue.poll();
+        if (first == null) return;
+        batch.add(first);
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0 || !running) break;
+
+            PendingCast next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) break;
+            batch.add(next);
+        }
+    }
+
+    // DataAccessException 뿐 아니라 TransactionException (DB 다운 시 CannotCreateTransactionException 등) 도 처리하고,
+    // 어떤 경우에도 모든 cast 의 future 를 완료하고 release 함
+    private void write(List<PendingCast> casts) {
+        try {
+            flushTimer.record(() -> {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insertRows(casts));
+                    for (PendingCast cast : casts) {
+                        cast.ack().complete(VoteCastResult.RECORDED);
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("Vote cast batch of {} failed, retrying row by row: {}", casts.size(), e.getMessage());
+                    writeOneByOne(casts);
+                }
+            });
+            batchRows.record(casts.size());
+        } finally {
+            release(casts);
+        }
+    }
+
+    private void writeOneByOne(List<PendingCast> casts) {
+        for (PendingCast cast : casts) {
+            if (cast.ack().isDone()) continue;
+            try {
+                transactionTemplate.executeWithoutResult(status -> insertRows(List.of(cast)));
+                cast.ack().complete(VoteCastResult.RECORDED);
+            } catch (DuplicateKeyException e) {
+                // 다른 인스턴스 등에서 이미 저장된 투표 : 투표자는 유지하고 이번 cast 의 집계만 되돌림
+                droppedCounter.increment();
+                voteTallyEngine.unrecord(cast.voteId(), cast.voterId(), cast.ballot(), true);
+                cast.ack().complete(VoteCastResult.ALREADY_VOTED);
+                log.warn("Duplicate vote cast ignored (vote {}, voter {})", cast.voteId(), cast.voterId());
+            } catch (RuntimeException e) {
+                drop(cast, e);
+            }
+        }
+    }
+
+    // 저장하지 못한 cast : 집계와 투표자를 되돌리고 재시도하라고 응답
+    private void drop(PendingCast cast, Exception cause) {
+        droppedCounter.increment();
+        voteTallyEngine.unrecord(cast.voteId(), cast.voterId(), cast.ballot(), false);
+        cast.ack().completeExceptionally(new VoteCastBusyException(retryAfterSeconds));
+        log.error("Dropping vote cast (vote {}, voter {}): {}", cast.voteId(), cast.voterId(), cause.getMessage());
+    }
+
+    private void insertRows(List<PendingCast> casts) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + casts.size() * (ROW_PLACEHOLDER.length() + 2));
+        Object[] args = new Object[casts.size() * COLUMNS];
+        for (int i = 0; i < casts.size(); i++) {
+            PendingCast cast = casts.get(i);
+            sql.append(i == 0 ? INSERT_PREFIX : ", ").append(ROW_PLACEHOLDER);
+            args[i * COLUMNS] = cast.voteId();
+            args[i * COLUMNS + 1] = cast.voterId();
+            args[i * COLUMNS + 2] = cast.optionId();
+            args[i * COLUMNS + 3] = cast.ballot().data();
+            args[i * COLUMNS + 4] = cast.createdAt();
+        }
+        jdbcTemplate.update(sql.toString(), args);
+    }
+
+    private void release(List<PendingCast> casts) {
+        for (PendingCast cast : casts) {
+            if (!cast.ack().isDone()) {
+                drop(cast, new IllegalStateException("cast was not written"));
+            }
+            AtomicInteger pending = pendingByVote.get(cast.voteId());
+            if (pending != null) pending.decrementAndGet();
+        }
+        synchronized (flushed) {
+            flushed.notifyAll();
+        }
+    }
+
+    // 종료 시 큐에 남은 cast 를 모두 저장
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    private record PendingCast(Long voteId, String voterId, Long optionId, Ballot ballot, LocalDateTime createdAt,
+                               CompletableFuture<VoteCastResult> ack) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.webrtc_signal_server.domain.vote.service;
+
+// cast 저장 큐가 가득 찼거나, 저장에 실패했거나, 방 mailbox 대기가 너무 길 때 (503 + Retry-After 로 응답)
+public class VoteCastBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public VoteCastBusyException(long retryAfterSeconds) {
+        super("투표 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.webrtc_signal_server.domain.vote.service;
+
+import com.example.webrtc_signal_server.domain.vote.entity.Vote;
+import com.example.webrtc_signal_server.domain.vote.entity.VoteStatus;
+import com.example.webrtc_signal_server.domain.vote.repository.VoteRepository;
+import com.example.webrtc_signal_server.util.HashedTimingWheel;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 마감 시각이 있는 투표를 자동으로 마감합니다.
+ * 투표마다 스케줄 작업이나 DB polling 을 두지 않고 {@link HashedTimingWheel} 하나에 등록하며,
+ * 재시작 시에는 OPEN 상태이면서 closesAt 이 있는 투표로 다시 채웁니다 (이미 지난 것은 즉시 마감).
+ * 실제 마감 시각과 closesAt 의 차이는 vote.deadline.skew 로 기록합니다.
+ */
+@Slf4j
+@Component
+public class VoteDeadlineScheduler {
+
+    private final VoteRepository voteRepository;
+    private final ObjectProvider<VoteService> voteService;
+    private final VoteRoomExecutor voteRoomExecutor;
+    private final ExecutorService closer;
+    private final HashedTimingWheel wheel;
+    private final ConcurrentHashMap<Long, HashedTimingWheel.Timeout> timeouts = new ConcurrentHashMap<>();
+    private final Timer skewTimer;
+
+    public VoteDeadlineScheduler(
+            VoteRepository voteRepository,
+            ObjectProvider<VoteService> voteService,
+            VoteRoomExecutor voteRoomExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${vote.deadline.tick-ms:1}") long tickMillis,
+            @Value("${vote.deadline.wheel-size:4096}") int wheelSize,
+            @Value("${vote.deadline.closer-threads:2}") int closerThreads
+    ) {
+        this.voteRepository = voteRepository;
+        this.voteService = voteService;
+        this.voteRoomExecutor = voteRoomExecutor;
+        this.closer = Executors.newFixedThreadPool(closerThreads);
+        this.wheel = new HashedTimingWheel("vote-deadline-wheel", tickMillis, TimeUnit.MILLISECONDS, wheelSize, closer);
+
+        this.skewTimer = Timer.builder("vote.deadline.skew")
+                .description("Delay between a vote's closesAt and its automatic close")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("vote.deadline.pending", wheel, HashedTimingWheel::pending).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        List<Vote> votes = voteRepository.findAllByStatusAndClosesAtIsNotNull(VoteStatus.OPEN);
+        for (Vote vote : votes) {
+            schedule(vote.getId(), vote.getClosesAt());
+        }
+        log.info("Vote deadline scheduler restored {} deadlines", votes.size());
+    }
+
+    public void schedule(Long voteId, LocalDateTime closesAt) {
+        Instant deadline = closesAt.atZone(ZoneId.systemDefault()).toInstant();
+        long delayMillis = Duration.between(Instant.now(), deadline).toMillis();
+
+        HashedTimingWheel.Timeout timeout = wheel.schedule(() -> fire(voteId, deadline), delayMillis, TimeUnit.MILLISECONDS);
+        HashedTimingWheel.Timeout previous = timeouts.put(voteId, timeout);
+        if (previous != null) previous.cancel();
+    }
+
+    // 수동 마감 시 호출
+    public void cancel(Long voteId) {
+        HashedTimingWheel.Timeout timeout = timeouts.remove(voteId);
+        if (timeout != null) timeout.cancel();
+    }
+
+    private void fire(Long voteId, Instant deadline) {
+        timeouts.remove(voteId);
+        skewTimer.record(Duration.between(deadline, Instant.now()).abs());
+        // 수동 마감/cast 와 같은 방 mailbox 에서 마감 (closer 스레드는 기다리지 않음)
+        try {
+            voteRoomExecutor.submitForVote(voteId, () -> {
+                voteService.getObject().closeVote(voteId);
+                return null;
+            }).whenComplete((ignored, e) -> {
+                if (e != null) log.error("Automatic close of vote {} failed", voteId, e);
+            });
+        } catch (Exception e) {
+            log.error("Automatic close of vote {} failed", voteId, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        wheel.stop();
+        closer.shutdown();
+    }
+}
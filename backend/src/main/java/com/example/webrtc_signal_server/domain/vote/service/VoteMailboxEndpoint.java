@@ -0,0 +1,22 @@
+package com.example.webrtc_signal_server.domain.vote.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// 작업이 남아 있는 방별 mailbox 깊이 (GET /actuator/votemailboxes, 노출 설정 필요)
+@Component
+@Endpoint(id = "votemailboxes")
+@RequiredArgsConstructor
+public class VoteMailboxEndpoint {
+
+    private final VoteRoomExecutor voteRoomExecutor;
+
+    @ReadOperation
+    public Map<String, Integer> depths() {
+        return voteRoomExecutor.depths();
+    }
+}
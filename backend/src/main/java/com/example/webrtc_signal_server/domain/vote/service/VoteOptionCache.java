@@ -0,0 +1,81 @@
+package com.example.webrtc_signal_server.domain.vote.service;
+
+import com.example.webrtc_signal_server.domain.vote.dto.VoteOptions;
+import com.example.webrtc_signal_server.domain.vote.repository.VoteOptionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 투표별 선택지 캐시 (voteId -> {@link VoteOptions}).
+ * 선택지는 투표 생성 후 바뀌지 않으므로 evict 없이 접근 기준 만료만 둡니다.
+ * 진행 중인 투표는 cast 마다 조회되므로 계속 캐시에 남습니다.
+ */
+@Component
+public class VoteOptionCache {
+
+    private final VoteOptionRepository voteOptionRepository;
+    private final Cache<Long, VoteOptions> cache;
+
+    public VoteOptionCache(
+            VoteOptionRepository voteOptionRepository,
+            MeterRegistry meterRegistry,
+            @Value("${vote.options.cache.ttl-seconds:3600}") long ttlSeconds,
+            @Value("${vote.options.cache.max-size:10000}") long maxSize
+    ) {
+        this.voteOptionRepository = voteOptionRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "voteOptions");
+    }
+
+    // 투표 생성 직후 저장된 선택지로 채움
+    public void put(Long voteId, VoteOptions options) {
+        cache.put(voteId, options);
+    }
+
+    public VoteOptions get(Long voteId) {
+        return getAll(List.of(voteId)).get(voteId);
+    }
+
+    // 캐시에 없는 투표만 한 번의 쿼리로 적재 (선택지가 없는 투표는 빈 VoteOptions)
+    public Map<Long, VoteOptions> getAll(Collection<Long> voteIds) {
+        if (voteIds.isEmpty()) return Map.of();
+        return cache.getAll(voteIds, this::load);
+    }
+
+    private Map<Long, VoteOptions> load(Set<? extends Long> voteIds) {
+        Map<Long, List<Long>> ids = new HashMap<>();
+        Map<Long, List<String>> labels = new HashMap<>();
+        for (Long voteId : voteIds) {
+            ids.put(voteId, new ArrayList<>());
+            labels.put(voteId, new ArrayList<>());
+        }
+
+        for (VoteOptionRepository.OptionView row : voteOptionRepository.findViewsByVoteIds(new ArrayList<>(voteIds))) {
+            ids.get(row.getVoteId()).add(row.getId());
+            labels.get(row.getVoteId()).add(row.getLabel());
+        }
+
+        Map<Long, VoteOptions> loaded = new HashMap<>();
+        for (Long voteId : voteIds) {
+            loaded.put(voteId, new VoteOptions(ids.get(voteId), labels.get(voteId)));
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.webrtc_signal_server.domain.vote.service;
+
+import com.example.webrtc_signal_server.domain.livekit.service.LiveKitService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * OPEN 투표의 현재 집계를 VOTE_PROGRESS 로 방에 알립니다.
+ * cast 마다 보내지 않고 투표별로 interval 에 한 번만, 마지막 전송 이후 집계가 바뀐 경우에만 보냅니다.
+ * 진행 상황은 다음 전송이나 VOTE_ENDED 로 대체되므로 outbox 를 거치지 않고 실패해도 재시도하지 않습니다.
+ * 공용 taskScheduler 는 타이머로만 쓰고, LiveKit 호출은 전용 sender 스레드(bounded queue)에서 합니다.
+ * 큐가 가득 차면 그 전송은 버리고 다음 cast 가 다시 예약합니다.
+ */
+@Slf4j
+@Component
+public class VoteProgressBroadcaster {
+
+    private final VoteTallyEngine voteTallyEngine;
+    private final LiveKitService liveKitService;
+    private final TaskScheduler taskScheduler;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor sender;
+    private final long intervalMillis;
+
+    private final ConcurrentHashMap<Long, Progress> progress = new ConcurrentHashMap<>();
+
+    private final Counter sentCounter;
+    private final Counter requestedCounter;
+    private final Counter droppedCounter;
+
+    public VoteProgressBroadcaster(
+            VoteTallyEngine voteTallyEngine,
+            LiveKitService liveKitService,
+            TaskScheduler taskScheduler,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${vote.progress.interval-ms:500}") long intervalMillis,
+            @Value("${vote.progress.sender-threads:2}") int senderThreads,
+            @Value("${vote.progress.queue-capacity:1000}") int queueCapacity
+    ) {
+        this.voteTallyEngine = voteTallyEngine;
+        this.liveKitService = liveKitService;
+        this.taskScheduler = taskScheduler;
+        this.objectMapper = objectMapper;
+        this.intervalMillis = intervalMillis;
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "vote-progress-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory);
+
+        this.sentCounter = Counter.builder("vote.progress.sent").register(meterRegistry);
+        this.requestedCounter = Counter.builder("vote.progress.requested")
+                .description("Casts that asked for a progress broadcast")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("vote.progress.dropped")
+                .description("Progress broadcasts dropped because the sender queue was full")
+                .register(meterRegistry);
+        Gauge.builder("vote.progress.queue", sender.getQueue(), BlockingQueue::size).register(meterRegistry);
+    }
+
+    // cast 직후 호출 : 이미 예약된 전송이 있으면 그 전송에 합쳐짐
+    public void onCast(Long voteId) {
+        requestedCounter.increment();
+        Progress state = progress.computeIfAbsent(voteId, id -> new Progress());
+        if (!state.scheduled.compareAndSet(false, true)) return;
+
+        long delay = Math.max(0L, state.lastSentAt + intervalMillis - System.currentTimeMillis());
+        taskScheduler.schedule(() -> dispatch(voteId, state), Instant.now().plusMillis(delay));
+    }
+
+    // 투표 마감 시 호출
+    public void forget(Long voteId) {
+        progress.remove(voteId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+
+    // scheduler 스레드에서는 넘기기만 함 (LiveKit HTTP 호출이 relay/purge/heartbeat 를 막지 않도록)
+    private void dispatch(Long voteId, Progress state) {
+        try {
+            sender.execute(() -> send(voteId, state));
+        } catch (RejectedExecutionException e) {
+            state.scheduled.set(false);
+            droppedCounter.increment();
+        }
+    }
+
+    private void send(Long voteId, Progress state) {
+        state.scheduled.set(false);
+
+        VoteTallyEngine.LiveTally tally = voteTallyEngine.tallyIfPresent(voteId);
+        if (tally == null) {
+            progress.remove(voteId, state);
+            return;
+        }
+
+        long version = tally.version();
+        if (version == state.lastSentVersion) return;
+
+        try {
+            Map<String, Object> data = new HashMap<>();
+            data.put("voteId", voteId);
+            data.put("results", tally.snapshot());
+            data.put("voters", tally.voterCount());
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("type", "VOTE_PROGRESS");
+            payload.put("data", data);
+
+            state.lastSentVersion = version;
+            state.lastSentAt = System.currentTimeMillis();
+            liveKitService.sendDataToRoom(tally.roomName(), objectMapper.writeValueAsString(payload));
+            sentCounter.increment();
+        } catch (Exception e) {
+            log.warn("VOTE_PROGRESS for vote {} not sent: {}", voteId, e.getMessage());
+        }
+    }
+
+    private static final class Progress {
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile long lastSentVersion = 0L;
+        private volatile long lastSentAt = 0L;
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.webrtc_signal_server.domain.vote.service;
+
+import com.example.webrtc_signal_server.domain.vote.repository.VoteRepository;
+import com.example.webrtc_signal_server.util.HashedTimingWheel;
+import com.example.webrtc_signal_server.util.KeyedSerialExecutor;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 투표 상태 변경(시작/cast/마감)을 방 단위로 직렬화합니다.
+ * 방마다 mailbox 하나({@link KeyedSerialExecutor})가 공유 스레드 풀에서 한 번에 하나씩 실행하므로,
+ * 같은 방에서는 마감 집계 뒤에 cast 가 끼어들 수 없고 서로 다른 방은 코어 수만큼 병렬로 처리됩니다.
+ * 트랜잭션은 mailbox 스레드에서 시작되도록 호출자는 VoteService 호출 전체를 넘깁니다.
+ * 방별 대기 수는 vote.mailbox.depth(제출 시점 분포)와 /actuator/votemailboxes 로 확인합니다.
+ * 호출자는 결과 future 를 비동기 응답으로 돌려주므로 한 방이 막혀도 HTTP 스레드가 묶이지 않고,
+ * await-timeout 안에 시작하지 못한 명령은 취소되어 {@link VoteCastBusyException} (503) 으로 응답합니다.
+ */
+@Component
+public class VoteRoomExecutor {
+
+    private final VoteTallyEngine voteTallyEngine;
+    private final VoteRepository voteRepository;
+    private final ExecutorService pool;
+    private final KeyedSerialExecutor<String> mailboxes;
+    // await-timeout 만료 (명령이 먼저 끝나면 취소하므로 대기 작업은 mailbox 에 남은 명령 수만큼만)
+    private final HashedTimingWheel expiry = new HashedTimingWheel("vote-room-expiry", 10, TimeUnit.MILLISECONDS, 512, Runnable::run);
+
+    private final DistributionSummary depthSummary;
+    private final Timer waitTimer;
+    private final long awaitTimeoutMillis;
+    private final long retryAfterSeconds;
+
+    public VoteRoomExecutor(
+            VoteTallyEngine voteTallyEngine,
+            VoteRepository voteRepository,
+            MeterRegistry meterRegistry,
+            @Value("${vote.mailbox.threads:0}") int threads,
+            @Value("${vote.mailbox.batch-size:64}") int batchSize,
+            @Value("${vote.mailbox.await-timeout-ms:30000}") long awaitTimeoutMillis,
+            @Value("${vote.cast.retry-after-seconds:1}") long retryAfterSeconds
+    ) {
+        this.voteTallyEngine = voteTallyEngine;
+        this.voteRepository = voteRepository;
+        this.awaitTimeoutMillis = awaitTimeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        // 작업에 DB I/O 가 섞여 있으므로 기본은 코어 수의 2 배
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors() * 2;
+        AtomicInteger sequence = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "vote-room-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.mailboxes = new KeyedSerialExecutor<>(pool, batchSize);
+
+        this.depthSummary = DistributionSummary.builder("vote.mailbox.depth")
+                .description("Room mailbox depth seen by each submitted vote command")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("vote.mailbox.wait")
+                .description("Time a vote command waited in its room mailbox")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("vote.mailbox.queued", mailboxes, KeyedSerialExecutor::queued).register(meterRegistry);
+        Gauge.builder("vote.mailbox.rooms", mailboxes, KeyedSerialExecutor::activeKeys).register(meterRegistry);
+    }
+
+    // 방의 mailbox 에서 실행 (HTTP 스레드는 기다리지 않고 future 를 그대로 비동기 응답으로 넘김)
+    // await-timeout 안에 시작하지 못한 명령은 실행하지 않고 VoteCastBusyException (503) 으로 끝나므로, 재시도해도 두 번 실행되지 않음
+    // 이미 시작한 명령은 끝날 때까지 기다림
+    public <T> CompletableFuture<T> call(String roomName, VoteCommand<T, ?> command) {
+        AtomicBoolean started = new AtomicBoolean();
+        CompletableFuture<T> future = submit(roomName, () -> {
+            if (!started.compareAndSet(false, true)) {
+                throw new CancellationException("Expired in the room mailbox");
+            }
+            return command.run();
+        });
+        if (!future.isDone()) {
+            HashedTimingWheel.Timeout timeout = expiry.schedule(() -> {
+                if (started.compareAndSet(false, true)) {
+                    future.completeExceptionally(new VoteCastBusyException(retryAfterSeconds));
+                }
+            }, awaitTimeoutMillis, TimeUnit.MILLISECONDS);
+            future.whenComplete((ignored, e) -> timeout.cancel());
+        }
+        return future;
+    }
+
+    // 투표가 속한 방의 mailbox 에서 실행
+    public <T> CompletableFuture<T> callForVote(Long voteId, VoteCommand<T, ?> command) {
+        return call(roomOf(voteId), command);
+    }
+
+    public <T> CompletableFuture<T> submitForVote(Long voteId, VoteCommand<T, ?> command) {
+        return submit(roomOf(voteId), command);
+    }
+
+    public Map<String, Integer> depths() {
+        return mailboxes.depths();
+    }
+
+    private <T> CompletableFuture<T> submit(String roomName, VoteCommand<T, ?> command) {
+        long enqueuedAt = System.nanoTime();
+        CompletableFuture<T> future = mailboxes.submit(roomName, () -> {
+            waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+            return command.run();
+        });
+        depthSummary.record(mailboxes.depth(roomName));
+        return future;
+    }
+
+    // OPEN 투표는 live tally 에서, 그 외에는 DB 에서 방 이름을 찾음
+    private String roomOf(Long voteId) {
+        VoteTallyEngine.LiveTally tally = voteTallyEngine.tallyIfPresent(voteId);
+        if (tally != null) return tally.roomName();
+        return voteRepository.findRoomNameById(voteId)
+                .orElseThrow(() -> new IllegalArgumentException("Vote not found"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        expiry.stop();
+        pool.shutdown();
+    }
+
+    @FunctionalInterface
+    public interface VoteCommand<T, E extends Exception> {
+        T run() throws E;
+    }
+}
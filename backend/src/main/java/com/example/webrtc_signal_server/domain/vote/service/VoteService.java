@@ -1,144 +1,362 @@
 package com.example.webrtc_signal_server.domain.vote.service;
 
-import com.example.webrtc_signal_server.domain.livekit.service.LiveKitService;
+import com.example.webrtc_signal_server.domain.livekit.service.RoomEventPublisher;
+import com.example.webrtc_signal_server.domain.vote.dto.Ballot;
 import com.example.webrtc_signal_server.domain.vote.dto.VoteCastRequest;
+import com.example.webrtc_signal_server.domain.vote.dto.VoteCastResult;
+import com.example.webrtc_signal_server.domain.vote.dto.VoteOptions;
 import com.example.webrtc_signal_server.domain.vote.dto.VoteResponse;
 import com.example.webrtc_signal_server.domain.vote.dto.VoteStartRequest;
 import com.example.webrtc_signal_server.domain.vote.entity.Vote;
-import com.example.webrtc_signal_server.domain.vote.entity.VoteResult;
+import com.example.webrtc_signal_server.domain.vote.entity.VoteResultSnapshot;
+import com.example.webrtc_signal_server.domain.vote.entity.VoteStatus;
+import com.example.webrtc_signal_server.domain.vote.entity.VoteType;
 import com.example.webrtc_signal_server.domain.vote.repository.VoteRepository;
-import com.example.webrtc_signal_server.domain.user.entity.UserEntity;
-import com.example.webrtc_signal_server.domain.user.repository.UserRepository;
+import com.example.webrtc_signal_server.domain.user.service.UserCache;
 import com.example.webrtc_signal_server.domain.vote.repository.VoteResultRepository;
+import com.example.webrtc_signal_server.domain.vote.repository.VoteResultSnapshotRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class VoteService {
 
+    private static final TypeReference<LinkedHashMap<String, Long>> COUNTS_TYPE = new TypeReference<>() {};
+    private static final TypeReference<LinkedHashMap<String, List<String>>> VOTERS_TYPE = new TypeReference<>() {};
+
     private final VoteRepository voteRepository;
     private final VoteResultRepository voteResultRepository;
-    private final UserRepository userRepository;
-    private final LiveKitService liveKitService;
+    private final UserCache userCache;
+    private final RoomEventPublisher roomEventPublisher;
     private final ObjectMapper objectMapper;
+    private final VoteTallyEngine voteTallyEngine;
+    private final VoteOptionCache voteOptionCache;
+    private final VoteCastBuffer voteCastBuffer;
+    private final VoteDeadlineScheduler voteDeadlineScheduler;
+    private final VoteProgressBroadcaster voteProgressBroadcaster;
+    private final VoteResultSnapshotRepository voteResultSnapshotRepository;
 
     public void startVote(VoteStartRequest request) throws JsonProcessingException {
-        // 1. Convert options list to JSON string
-        String optionsJson = objectMapper.writeValueAsString(request.getOptions());
-
-        // 2. Create and save Vote entity
-        Vote vote = Vote.of(request.getRoomName(), request.getTopic(), optionsJson, request.getProposerId());
+        // 1. Create and save Vote entity with its options (option ids are assigned here)
+        LocalDateTime closesAt = request.getDurationSeconds() == null || request.getDurationSeconds() <= 0
+                ? null
+                : LocalDateTime.now().plusSeconds(request.getDurationSeconds());
+        VoteType type = request.getType() == null ? VoteType.SINGLE : request.getType();
+        if (type != VoteType.SINGLE && request.getOptions().size() > Ballot.MAX_OPTIONS) {
+            throw new IllegalArgumentException("Too many options for a " + type + " vote");
+        }
+        Vote vote = Vote.of(request.getRoomName(), request.getTopic(), type, request.getOptions(), request.getProposerId(), closesAt);
         voteRepository.save(vote);
 
-        // 3. Broadcast VOTE_STARTED event via LiveKit
+        VoteOptions options = VoteOptions.from(vote.getOptions());
+
+        // Live tally, option cache and auto-close at the deadline only once the vote is committed,
+        // so a rolled-back start leaves nothing behind in memory
+        Long voteId = vote.getId();
+        String roomName = vote.getRoomName();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                voteOptionCache.put(voteId, options);
+                voteTallyEngine.open(voteId, roomName, type, options);
+                if (closesAt != null) {
+                    voteDeadlineScheduler.schedule(voteId, closesAt);
+                }
+            }
+        });
+
+        // 2. Record VOTE_STARTED event in the outbox (relayed to LiveKit after commit)
         Map<String, Object> payload = new HashMap<>();
         payload.put("type", "VOTE_STARTED");
         Map<String, Object> data = new HashMap<>();
         data.put("voteId", vote.getId());
         data.put("topic", vote.getTopic());
-        data.put("options", request.getOptions());
+        data.put("type", type.name());
+        data.put("options", options.labels());
+        data.put("optionIds", options.ids());
         data.put("proposerId", vote.getProposerId()); // Include proposerId
+        if (closesAt != null) {
+            data.put("closesAt", closesAt.toString());
+        }
         payload.put("data", data);
 
         String payloadJson = objectMapper.writeValueAsString(payload);
-        liveKitService.sendDataToRoom(request.getRoomName(), payloadJson);
+        roomEventPublisher.publish(request.getRoomName(), payloadJson);
+    }
+
+    // Counts and queues the cast; the returned future completes once VoteCastBuffer has written the row,
+    // so RECORDED is only ever reported for a stored ballot.
+    // One ballot per voter: repeats (retries, duplicates) get ALREADY_VOTED and change nothing
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public CompletableFuture<VoteCastResult> castVote(VoteCastRequest request) {
+        Long voteId = request.getVoteId();
+        String voterId = request.getVoterId();
+        VoteOptions options = voteOptionCache.get(voteId);
+        if (options.size() == 0) {
+            throw new IllegalArgumentException("Vote not found");
+        }
+        Ballot ballot = toBallot(request, options);
+        Long optionId = options.id(ballot.primary());
+        AtomicReference<CompletableFuture<VoteCastResult>> persisted = new AtomicReference<>();
+        Runnable enqueue = () -> persisted.set(voteCastBuffer.enqueue(voteId, voterId, optionId, ballot));
+
+        // OPEN votes are normally in the live tally, so no DB read on the hot path
+        VoteCastResult result = voteTallyEngine.cast(voteId, voterId, ballot, enqueue);
+        if (result == null) {
+            Vote vote = voteRepository.findById(voteId)
+                    .orElseThrow(() -> new IllegalArgumentException("Vote not found"));
+            if (vote.getStatus() != VoteStatus.OPEN) {
+                throw new IllegalStateException("Vote is closed");
+            }
+            result = voteTallyEngine.cast(vote, voterId, ballot, enqueue);
+        }
+
+        if (result != VoteCastResult.RECORDED) {
+            return CompletableFuture.completedFuture(result);
+        }
+        // Running counts go out as a throttled VOTE_PROGRESS, not one packet per cast
+        voteProgressBroadcaster.onCast(voteId);
+        return persisted.get();
     }
 
-    public void castVote(VoteCastRequest request) {
-        Vote vote = voteRepository.findById(request.getVoteId())
+    // RANKED/WEIGHTED send option positions; single choice sends the option id, or the option label as before.
+    // The tally rejects a ballot whose type does not match the vote
+    private Ballot toBallot(VoteCastRequest request, VoteOptions options) {
+        if (request.getRanking() != null) {
+            return Ballot.ranked(request.getRanking(), options.size());
+        }
+        if (request.getWeights() != null) {
+            return Ballot.weighted(request.getWeights(), options.size());
+        }
+        int index = request.getOptionId() != null
+                ? options.indexOf(request.getOptionId())
+                : options.indexOfLabel(request.getSelectedOption());
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown option: "
+                    + (request.getOptionId() != null ? request.getOptionId() : request.getSelectedOption()));
+        }
+        return Ballot.single(index);
+    }
+
+    // Current per-option counts; OPEN votes are answered from the live tally
+    public Map<String, Long> getCurrentResults(Long voteId) {
+        Vote vote = voteRepository.findById(voteId)
                 .orElseThrow(() -> new IllegalArgumentException("Vote not found"));
 
-        VoteResult voteResult = VoteResult.of(vote, request.getVoterId(), request.getSelectedOption());
-        voteResultRepository.save(voteResult);
+        if (vote.getStatus() == VoteStatus.OPEN) {
+            return voteTallyEngine.results(vote);
+        }
+
+        Optional<VoteResultSnapshot> snapshot = voteResultSnapshotRepository.findById(voteId);
+        if (snapshot.isPresent()) {
+            return readJson(snapshot.get().getCountsJson(), COUNTS_TYPE);
+        }
+
+        // Votes closed before snapshots existed
+        VoteOptions options = voteOptionCache.get(voteId);
+        long[] counts = new long[options.size()];
+        for (VoteResultRepository.OptionCount row : voteResultRepository.countByOption(voteId)) {
+            int index = options.indexOf(row.getOptionId());
+            if (index >= 0) counts[index] = row.getVotes();
+        }
+
+        Map<String, Long> results = new LinkedHashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            results.put(options.label(i), counts[i]);
+        }
+        return results;
     }
 
+    // Called by POST /close and by VoteDeadlineScheduler; a vote is closed (and VOTE_ENDED sent) only once
     public void closeVote(Long voteId) throws JsonProcessingException {
-        Vote vote = voteRepository.findById(voteId)
+        Vote vote = voteRepository.findByIdForUpdate(voteId)
                 .orElseThrow(() -> new IllegalArgumentException("Vote not found"));
+        if (vote.getStatus() != VoteStatus.OPEN) {
+            return;
+        }
+        LocalDateTime closesAt = vote.getClosesAt();
         vote.close();
 
-        // 1. Tally results
-        List<VoteResult> results = voteResultRepository.findAllByVote_Id(voteId);
-        Map<String, Long> talliedResults = results.stream()
-                .collect(Collectors.groupingBy(VoteResult::getSelectedOption, Collectors.counting()));
+        // 1. Stop new casts, persist every cast still queued for this vote (a cast that cannot be written is
+        //    undone in the sealed tally), then read the final results (every option present, 0 if no votes)
+        voteTallyEngine.seal(vote);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    voteDeadlineScheduler.cancel(voteId);
+                    voteProgressBroadcaster.forget(voteId);
+                    voteTallyEngine.forget(voteId);
+                } else {
+                    // Still OPEN (e.g. the drain timed out): accept casts again and put back the auto-close
+                    // deadline, which an automatic close has already taken off the wheel (a past one fires again)
+                    voteTallyEngine.unseal(voteId);
+                    if (closesAt != null) voteDeadlineScheduler.schedule(voteId, closesAt);
+                }
+            }
+        });
+        voteCastBuffer.drain(voteId);
+        Map<String, Long> talliedResults = voteTallyEngine.close(vote);
 
-        // Ensure all options are included with 0 count if not present
-        List<String> options = objectMapper.readValue(vote.getOptions(), new com.fasterxml.jackson.core.type.TypeReference<List<String>>() {});
-        for (String option : options) {
-            talliedResults.putIfAbsent(option, 0L);
+        // RANKED: instant-runoff over every stored ballot; results are the final round
+        List<Map<String, Object>> rounds = null;
+        String winner = null;
+        if (vote.getType() == VoteType.RANKED) {
+            VoteOptions options = voteOptionCache.get(voteId);
+            InstantRunoffTally.Result runoff = InstantRunoffTally.count(options.size(), voteResultRepository.findBallotData(voteId));
+            rounds = new ArrayList<>(runoff.rounds());
+            for (int round = 0; round < runoff.rounds(); round++) {
+                Map<String, Long> counts = new LinkedHashMap<>();
+                for (int i = 0; i < options.size(); i++) {
+                    counts.put(options.label(i), runoff.count(round, i));
+                }
+                Map<String, Object> breakdown = new LinkedHashMap<>();
+                breakdown.put("round", round + 1);
+                breakdown.put("counts", counts);
+                breakdown.put("exhausted", runoff.exhausted(round));
+                breakdown.put("eliminated", runoff.eliminated(round) < 0 ? null : options.label(runoff.eliminated(round)));
+                rounds.add(breakdown);
+                talliedResults = counts;
+            }
+            winner = runoff.winner() < 0 ? null : options.label(runoff.winner());
         }
 
-        // 2. Broadcast VOTE_ENDED event with results via LiveKit
+        // 2. Immutable result snapshot in the same transaction; history reads of closed votes use only this
+        Map<String, List<String>> voters = aggregateVoters(List.of(voteId)).get(voteId);
+        int voterCount = voters.values().stream().mapToInt(List::size).sum();
+        voteResultSnapshotRepository.save(VoteResultSnapshot.of(voteId,
+                objectMapper.writeValueAsString(talliedResults), objectMapper.writeValueAsString(voters), voterCount));
+
+        // 3. Record VOTE_ENDED event with results in the outbox (relayed to LiveKit after commit)
         Map<String, Object> payload = new HashMap<>();
         payload.put("type", "VOTE_ENDED");
         Map<String, Object> data = new HashMap<>();
         data.put("voteId", vote.getId());
         data.put("topic", vote.getTopic());
+        data.put("type", vote.getType().name());
         data.put("results", talliedResults);
+        if (rounds != null) {
+            data.put("rounds", rounds);
+            data.put("winner", winner);
+        }
         payload.put("data", data);
 
         String payloadJson = objectMapper.writeValueAsString(payload);
-        liveKitService.sendDataToRoom(vote.getRoomName(), payloadJson);
+        roomEventPublisher.publish(vote.getRoomName(), payloadJson);
+    }
+
+    // Constant query count regardless of vote count: the vote page, snapshots of closed votes,
+    // and for open (or pre-snapshot) votes their options, ballots and uncached nicknames
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public List<VoteResponse> getVotesByRoom(String roomName, long afterId, int size) {
+        List<Vote> votes = voteRepository.findRoomPage(roomName, afterId, PageRequest.ofSize(size));
+        if (votes.isEmpty()) return List.of();
+
+        List<Long> closedIds = new ArrayList<>();
+        for (Vote vote : votes) {
+            if (vote.getStatus() != VoteStatus.OPEN) closedIds.add(vote.getId());
+        }
+        Map<Long, VoteResultSnapshot> snapshots = new HashMap<>();
+        if (!closedIds.isEmpty()) {
+            for (VoteResultSnapshot snapshot : voteResultSnapshotRepository.findAllById(closedIds)) {
+                snapshots.put(snapshot.getVoteId(), snapshot);
+            }
+        }
+
+        List<Long> liveIds = new ArrayList<>();
+        for (Vote vote : votes) {
+            if (!snapshots.containsKey(vote.getId())) liveIds.add(vote.getId());
+        }
+        Map<Long, Map<String, List<String>>> liveResults = liveIds.isEmpty() ? Map.of() : aggregateVoters(liveIds);
+
+        List<VoteResponse> responses = new ArrayList<>(votes.size());
+        for (Vote vote : votes) {
+            VoteResultSnapshot snapshot = snapshots.get(vote.getId());
+            responses.add(new VoteResponse(
+                    vote.getId(),
+                    vote.getRoomName(),
+                    vote.getTopic(),
+                    snapshot != null ? readJson(snapshot.getVotersJson(), VOTERS_TYPE) : liveResults.get(vote.getId()),
+                    vote.getStatus().name()
+            ));
+        }
+        return responses;
     }
 
-    public List<VoteResponse> getVotesByRoom(String roomName) {
-        List<Vote> votes = voteRepository.findAllByRoomName(roomName);
+    // Voter nicknames per option label, per vote (options and nicknames come from their caches)
+    private Map<Long, Map<String, List<String>>> aggregateVoters(List<Long> voteIds) {
+        Map<Long, VoteOptions> optionsByVote = voteOptionCache.getAll(voteIds);
+
+        // Voters per option position, per vote
+        Map<Long, List<List<String>>> votersByVote = new HashMap<>();
+        for (Long voteId : voteIds) {
+            List<List<String>> voters = new ArrayList<>();
+            for (int i = 0; i < optionsByVote.get(voteId).size(); i++) {
+                voters.add(new ArrayList<>());
+            }
+            votersByVote.put(voteId, voters);
+        }
+
+        List<VoteResultRepository.BallotView> ballots = voteResultRepository.findBallotsByVoteIds(voteIds);
 
-        return votes.stream().map(vote -> {
+        // Resolve nicknames for numeric voter ids in one batch (Convert String to Long)
+        Set<Long> voterIds = new HashSet<>();
+        for (VoteResultRepository.BallotView ballot : ballots) {
             try {
-                List<String> options = objectMapper.readValue(vote.getOptions(), new com.fasterxml.jackson.core.type.TypeReference<List<String>>() {});
-                
-                Map<String, List<String>> resultsMap = new HashMap<>();
-                for (String option : options) {
-                    resultsMap.put(option, new java.util.ArrayList<>());
-                }
+                voterIds.add(Long.parseLong(ballot.getVoterId()));
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        Map<String, String> nicknameMap = new HashMap<>();
+        userCache.findNicknames(voterIds).forEach((id, nickname) -> nicknameMap.put(String.valueOf(id), nickname));
 
-                List<VoteResult> voteResults = voteResultRepository.findAllByVote_Id(vote.getId());
-                
-                // Collect all voter IDs (Convert String to Long)
-                List<Long> voterIds = voteResults.stream()
-                        .map(result -> {
-                            try {
-                                return Long.parseLong(result.getVoterId());
-                            } catch (NumberFormatException e) {
-                                return null;
-                            }
-                        })
-                        .filter(id -> id != null)
-                        .collect(Collectors.toList());
-
-                // Fetch users and map id to nickname
-                List<UserEntity> users = userRepository.findAllById(voterIds);
-                Map<String, String> nicknameMap = users.stream()
-                        .collect(Collectors.toMap(user -> String.valueOf(user.getId()), UserEntity::getNickname));
-
-                for (VoteResult result : voteResults) {
-                    if (resultsMap.containsKey(result.getSelectedOption())) {
-                        String nickname = nicknameMap.getOrDefault(result.getVoterId(), result.getVoterId());
-                        resultsMap.get(result.getSelectedOption()).add(nickname);
-                    }
-                }
+        for (VoteResultRepository.BallotView ballot : ballots) {
+            int index = optionsByVote.get(ballot.getVoteId()).indexOf(ballot.getOptionId());
+            if (index >= 0) {
+                votersByVote.get(ballot.getVoteId()).get(index)
+                        .add(nicknameMap.getOrDefault(ballot.getVoterId(), ballot.getVoterId()));
+            }
+        }
 
-                return new VoteResponse(
-                        vote.getId(),
-                        vote.getRoomName(),
-                        vote.getTopic(),
-                        resultsMap,
-                        vote.getStatus().name()
-                );
-            } catch (JsonProcessingException e) {
-                throw new RuntimeException("Error parsing vote options", e);
+        Map<Long, Map<String, List<String>>> results = new HashMap<>();
+        for (Long voteId : voteIds) {
+            VoteOptions options = optionsByVote.get(voteId);
+            List<List<String>> voters = votersByVote.get(voteId);
+            Map<String, List<String>> resultsMap = new LinkedHashMap<>();
+            for (int i = 0; i < options.size(); i++) {
+                resultsMap.put(options.label(i), voters.get(i));
             }
-        }).collect(Collectors.toList());
+            results.put(voteId, resultsMap);
+        }
+        return results;
+    }
+
+    private <T> T readJson(String json, TypeReference<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Error parsing vote result snapshot", e);
+        }
     }
 }
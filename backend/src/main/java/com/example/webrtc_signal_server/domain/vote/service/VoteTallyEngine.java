@@ -0,0 +1,279 @@
+package com.example.webrtc_signal_server.domain.vote.service;
+
+import com.example.webrtc_signal_server.domain.vote.dto.Ballot;
+import com.example.webrtc_signal_server.domain.vote.dto.VoteCastResult;
+import com.example.webrtc_signal_server.domain.vote.dto.VoteOptions;
+import com.example.webrtc_signal_server.domain.vote.entity.Vote;
+import com.example.webrtc_signal_server.domain.vote.entity.VoteStatus;
+import com.example.webrtc_signal_server.domain.vote.entity.VoteType;
+import com.example.webrtc_signal_server.domain.vote.repository.VoteRepository;
+import com.example.webrtc_signal_server.domain.vote.repository.VoteResultRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory live tally for OPEN votes.
+ * Each vote keeps one LongAdder per option (indexed by option position) and a concurrent voter set,
+ * so casts never contend on a lock and current results are read in O(options).
+ * SINGLE and RANKED count the (first) choice, WEIGHTED adds each ballot's weights; the instant-runoff rounds
+ * of a RANKED vote are computed once at close by {@link InstantRunoffTally}.
+ * The voter set is also the one-ballot-per-voter gate (the unique (vote_id, voter_id) key backs it in the DB).
+ * Tallies are rebuilt from VoteResult rows on startup and lazily for any OPEN vote that is not loaded yet;
+ * a vote that is no longer OPEN in the DB is never loaded back into memory.
+ */
+@Slf4j
+@Component
+public class VoteTallyEngine {
+
+    private final VoteRepository voteRepository;
+    private final VoteResultRepository voteResultRepository;
+    private final VoteOptionCache voteOptionCache;
+
+    private final ConcurrentHashMap<Long, LiveTally> tallies = new ConcurrentHashMap<>();
+
+    public VoteTallyEngine(VoteRepository voteRepository, VoteResultRepository voteResultRepository, VoteOptionCache voteOptionCache) {
+        this.voteRepository = voteRepository;
+        this.voteResultRepository = voteResultRepository;
+        this.voteOptionCache = voteOptionCache;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Vote> openVotes = voteRepository.findAllByStatus(VoteStatus.OPEN);
+        for (Vote vote : openVotes) {
+            tally(vote);
+        }
+        log.info("Vote tally engine rebuilt for {} open votes", openVotes.size());
+    }
+
+    // Called after the start commits; a cast that arrived first may already have loaded the (empty) tally
+    public void open(Long voteId, String roomName, VoteType type, VoteOptions options) {
+        tallies.putIfAbsent(voteId, new LiveTally(roomName, type, options));
+    }
+
+    // Tally of an OPEN vote, loaded from VoteResult rows when it is not in memory yet
+    public LiveTally tally(Vote vote) {
+        if (vote.getStatus() != VoteStatus.OPEN) {
+            throw new IllegalStateException("Vote is closed");
+        }
+        return tallies.computeIfAbsent(vote.getId(), id -> loadOpen(vote));
+    }
+
+    // Tally only if it is already in memory (null once the vote is closed)
+    public LiveTally tallyIfPresent(Long voteId) {
+        return tallies.get(voteId);
+    }
+
+    // Counts a cast for a vote already in memory; null when the caller has to load the vote first
+    public VoteCastResult cast(Long voteId, String voterId, Ballot ballot, Runnable accept) {
+        LiveTally tally = tallies.get(voteId);
+        if (tally == null) return null;
+        return tally.cast(voterId, ballot, accept);
+    }
+
+    // Caller has checked that the vote is OPEN
+    public VoteCastResult cast(Vote vote, String voterId, Ballot ballot, Runnable accept) {
+        return tally(vote).cast(voterId, ballot, accept);
+    }
+
+    // Undo a cast that could not be persisted; keepVoter when the voter's ballot is already stored
+    public void unrecord(Long voteId, String voterId, Ballot ballot, boolean keepVoter) {
+        LiveTally tally = tallies.get(voteId);
+        if (tally != null) tally.unrecord(voterId, ballot, keepVoter);
+    }
+
+    public Map<String, Long> results(Vote vote) {
+        return tally(vote).snapshot();
+    }
+
+    // Start of a close: in-flight casts finish and new ones are rejected. The tally stays in memory (loaded if it
+    // was not) so casts that then fail to persist can still be undone before the final results are read
+    public void seal(Vote vote) {
+        tallies.computeIfAbsent(vote.getId(), id -> load(vote)).seal();
+    }
+
+    // Final results of a sealed tally; it is removed by forget once the close commits
+    public Map<String, Long> close(Vote vote) {
+        LiveTally tally = tallies.get(vote.getId());
+        if (tally == null) return load(vote).snapshot();
+        tally.seal();
+        return tally.snapshot();
+    }
+
+    // The close rolled back, so the vote is still OPEN: accept casts again
+    public void unseal(Long voteId) {
+        LiveTally tally = tallies.get(voteId);
+        if (tally != null) tally.unseal();
+    }
+
+    // Drops whatever is left for a closed vote (called after the close commits)
+    public void forget(Long voteId) {
+        tallies.remove(voteId);
+    }
+
+    public boolean isTracking(Long voteId) {
+        return tallies.containsKey(voteId);
+    }
+
+    // The caller's entity may predate a close that has committed since; re-check before caching
+    private LiveTally loadOpen(Vote vote) {
+        if (voteRepository.findStatusById(vote.getId()).orElse(null) != VoteStatus.OPEN) {
+            throw new IllegalStateException("Vote is closed");
+        }
+        return load(vote);
+    }
+
+    private LiveTally load(Vote vote) {
+        LiveTally tally = new LiveTally(vote.getRoomName(), vote.getType(), voteOptionCache.get(vote.getId()));
+        if (vote.getType() == VoteType.WEIGHTED) {
+            tally.restoreWeights(voteResultRepository.findBallotData(vote.getId()));
+        } else {
+            tally.restore(voteResultRepository.countByOption(vote.getId()));
+        }
+        tally.restoreVoters(voteResultRepository.findVoterIds(vote.getId()));
+        return tally;
+    }
+
+    public static final class LiveTally {
+
+        private final String roomName;
+        private final VoteType type;
+        private final VoteOptions options;
+        private final LongAdder[] counters;
+        private final LongAdder version = new LongAdder(); // casts + undos, only grows
+        private final Set<String> voters = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile boolean sealed = false;
+
+        LiveTally(String roomName, VoteType type, VoteOptions options) {
+            this.roomName = roomName;
+            this.type = type;
+            this.options = options;
+            this.counters = new LongAdder[options.size()];
+            for (int i = 0; i < counters.length; i++) {
+                counters[i] = new LongAdder();
+            }
+        }
+
+        // The first cast per voter wins (atomic set add); accept runs only for it, and if accept throws
+        // the voter is released again so a retry can succeed
+        VoteCastResult cast(String voterId, Ballot ballot, Runnable accept) {
+            inFlight.incrementAndGet();
+            try {
+                if (sealed) {
+                    throw new IllegalStateException("Vote is closed");
+                }
+                if (ballot.type() != type) {
+                    throw new IllegalArgumentException("Expected a " + type + " ballot");
+                }
+                if (ballot.primary() < 0 || ballot.primary() >= counters.length
+                        || (ballot.data() != null && ballot.data().length > counters.length)) {
+                    throw new IllegalArgumentException("Unknown option: " + ballot.primary());
+                }
+                if (!voters.add(voterId)) {
+                    return VoteCastResult.ALREADY_VOTED;
+                }
+                try {
+                    accept.run();
+                } catch (RuntimeException e) {
+                    voters.remove(voterId);
+                    throw e;
+                }
+                apply(ballot, 1);
+                version.increment();
+                return VoteCastResult.RECORDED;
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        // After seal returns, every accepted cast has been counted and no new cast is accepted
+        void seal() {
+            sealed = true;
+            while (inFlight.get() > 0) {
+                Thread.onSpinWait();
+            }
+        }
+
+        void unseal() {
+            sealed = false;
+        }
+
+        void unrecord(String voterId, Ballot ballot, boolean keepVoter) {
+            if (keepVoter ? voters.contains(voterId) : voters.remove(voterId)) {
+                apply(ballot, -1);
+                version.increment();
+            }
+        }
+
+        private void apply(Ballot ballot, int sign) {
+            if (type == VoteType.WEIGHTED) {
+                for (int i = 0; i < ballot.data().length; i++) {
+                    counters[i].add(sign * ballot.weight(i));
+                }
+            } else {
+                counters[ballot.primary()].add(sign);
+            }
+        }
+
+        void restore(List<VoteResultRepository.OptionCount> counts) {
+            for (VoteResultRepository.OptionCount row : counts) {
+                int index = options.indexOf(row.getOptionId());
+                if (index >= 0) counters[index].add(row.getVotes());
+            }
+        }
+
+        void restoreWeights(List<byte[]> ballots) {
+            for (byte[] ballot : ballots) {
+                if (ballot == null) continue;
+                for (int i = 0; i < ballot.length && i < counters.length; i++) {
+                    counters[i].add(ballot[i] & 0xFF);
+                }
+            }
+        }
+
+        void restoreVoters(Collection<String> voterIds) {
+            voters.addAll(voterIds);
+        }
+
+        public String roomName() {
+            return roomName;
+        }
+
+        public VoteType type() {
+            return type;
+        }
+
+        public VoteOptions options() {
+            return options;
+        }
+
+        // Changes whenever counts may have changed
+        public long version() {
+            return version.sum();
+        }
+
+        public Map<String, Long> snapshot() {
+            Map<String, Long> results = new LinkedHashMap<>();
+            for (int i = 0; i < counters.length; i++) {
+                results.put(options.label(i), counters[i].sum());
+            }
+            return results;
+        }
+
+        public int voterCount() {
+            return voters.size();
+        }
+    }
+}
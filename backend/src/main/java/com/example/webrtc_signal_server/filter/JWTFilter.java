@@ -1,5 +1,6 @@
 package com.example.webrtc_signal_server.filter;
 
+import com.example.webrtc_signal_server.domain.jwt.dto.JWTPrincipal;
 import com.example.webrtc_signal_server.util.JWTUtil;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -15,6 +16,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 public class JWTFilter extends OncePerRequestFilter {
 
@@ -34,10 +36,13 @@ public class JWTFilter extends OncePerRequestFilter {
         // 토큰 파싱
         String accessToken = authorization.split(" ")[1];
 
-        if (JWTUtil.isValid(accessToken, true)) {
+        // 서명 검증과 클레임 추출을 한 번에 (검증 결과는 exp 까지 캐시됨)
+        Optional<JWTPrincipal> principal = JWTUtil.verify(accessToken, true);
 
-            String username = JWTUtil.getUsername(accessToken);
-            String role = JWTUtil.getRole(accessToken);
+        if (principal.isPresent()) {
+
+            String username = principal.get().username();
+            String role = principal.get().role();
 
             List<GrantedAuthority> authorities = Collections.singletonList(new SimpleGrantedAuthority(role));
 
@@ -0,0 +1,18 @@
+package com.example.webrtc_signal_server.global.security;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+// BCrypt 작업 큐가 가득 찼을 때 (로그인/회원가입 503 + Retry-After 로 응답)
+public class PasswordHashingBusyException extends AuthenticationServiceException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingBusyException(long retryAfterSeconds) {
+        super("비밀번호 처리 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
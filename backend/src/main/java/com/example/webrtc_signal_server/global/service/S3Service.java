@@ -1,6 +1,7 @@
 package com.example.webrtc_signal_server.global.service;
 
 import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.model.GetObjectRequest;
 import com.amazonaws.services.s3.model.S3Object;
 import com.amazonaws.services.s3.model.S3ObjectInputStream;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
@@ -8,13 +9,13 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -26,6 +27,11 @@ public class S3Service {
     private String bucket;
 
     public String findLatestRecapFile(String roomName) {
+        return findLatestRecap(roomName).getKey();
+    }
+
+    // 방의 최신 recap 객체 (key + ETag)
+    public S3ObjectSummary findLatestRecap(String roomName) {
         // 1. 기본(NFC) 이름으로 검색
         String prefixNfc = "Summarize/" + roomName + "_";
         List<S3ObjectSummary> summaries = amazonS3Client.listObjects(bucket, prefixNfc).getObjectSummaries();
@@ -48,17 +54,24 @@ public class S3Service {
                 .max(Comparator.comparing(S3ObjectSummary::getLastModified))
                 .orElseThrow(() -> new IllegalArgumentException("No recap file found for room: " + roomName));
 
-        return latestFile.getKey();
+        return latestFile;
     }
 
-    public String getFileContent(String key) {
-        S3Object s3Object = amazonS3Client.getObject(bucket, key);
-        S3ObjectInputStream inputStream = s3Object.getObjectContent();
+    // eTag 가 있으면 If-None-Match 로 요청 : 객체가 바뀌지 않았으면(304) null,
+    // 바뀌었으면 본문을 메모리에 모으지 않고 target 파일로 바로 복사한 뒤 새 ETag 반환
+    public String downloadIfNoneMatch(String key, String eTag, Path target) {
+        GetObjectRequest request = new GetObjectRequest(bucket, key);
+        if (eTag != null) {
+            request.withNonmatchingETagConstraint(eTag);
+        }
+        S3Object s3Object = amazonS3Client.getObject(request);
+        if (s3Object == null) return null;
 
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
-            return reader.lines().collect(Collectors.joining("\n"));
+        try (s3Object; S3ObjectInputStream inputStream = s3Object.getObjectContent()) {
+            Files.copy(inputStream, target, StandardCopyOption.REPLACE_EXISTING);
+            return s3Object.getObjectMetadata().getETag();
         } catch (IOException e) {
-            throw new RuntimeException("Failed to read file from S3", e);
+            throw new UncheckedIOException("Failed to read file from S3: " + key, e);
         }
     }
 }
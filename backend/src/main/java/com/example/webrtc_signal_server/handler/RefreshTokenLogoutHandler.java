@@ -38,12 +38,11 @@ public class RefreshTokenLogoutHandler implements LogoutHandler {
             if (refreshToken == null) {
                 return;
             }
-            Boolean isValid = JWTUtil.isValid(refreshToken, false);
-            if (!isValid) {
+            if (JWTUtil.verify(refreshToken, false).isEmpty()) {
                 return;
             }
 
-            // Refresh 토큰 삭제`
+            // Refresh 토큰 삭제 (digest 기준, 필터에 없으면 DB 조회 생략)
             jwtService.removeRefresh(refreshToken);
 
         } catch (IOException e) {
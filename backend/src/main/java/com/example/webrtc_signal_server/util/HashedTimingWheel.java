@@ -0,0 +1,144 @@
+package com.example.webrtc_signal_server.util;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed timing wheel : 등록/취소 O(1), tick 마다 현재 bucket 하나만 확인합니다.
+ * - 등록은 lock-free 큐에 넣고, worker 스레드가 다음 tick 에 bucket 으로 옮깁니다 (bucket 은 worker 만 접근).
+ * - wheel 한 바퀴보다 먼 deadline 은 남은 바퀴 수(rounds)를 두고 같은 bucket 에 둡니다.
+ * - 만료된 작업은 worker 가 아닌 executor 에서 실행합니다.
+ * 정확도는 tick 단위이며, 만료는 deadline 이후 최대 1 tick 늦게 일어납니다.
+ */
+public class HashedTimingWheel {
+
+    private static final int ST_INIT = 0;
+    private static final int ST_CANCELLED = 1;
+    private static final int ST_EXPIRED = 2;
+
+    private final long tickNanos;
+    private final int mask;
+    private final ArrayDeque<Entry>[] wheel;
+    private final Queue<Entry> additions = new ConcurrentLinkedQueue<>();
+    private final Executor executor;
+    private final Thread worker;
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final long startNanos;
+    private volatile boolean running = true;
+    private long tick = 0L;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(String name, long tickDuration, TimeUnit unit, int wheelSize, Executor executor) {
+        if (tickDuration <= 0) throw new IllegalArgumentException("tickDuration must be positive");
+        if (wheelSize <= 0) throw new IllegalArgumentException("wheelSize must be positive");
+
+        // bucket index 를 mask 로 구하기 위해 2 의 거듭제곱으로 맞춤
+        int size = 1;
+        while (size < wheelSize) size <<= 1;
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.mask = size - 1;
+        this.wheel = new ArrayDeque[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new ArrayDeque<>();
+        }
+        this.executor = executor;
+
+        this.startNanos = System.nanoTime();
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (!running) throw new IllegalStateException("Timing wheel stopped");
+        Entry entry = new Entry(task, System.nanoTime() + Math.max(0L, unit.toNanos(delay)));
+        pending.incrementAndGet();
+        additions.add(entry);
+        return entry;
+    }
+
+    public int pending() {
+        return pending.get();
+    }
+
+    public void stop() {
+        running = false;
+        LockSupport.unpark(worker);
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = startNanos + (tick + 1) * tickNanos;
+            long now;
+            while ((now = System.nanoTime()) < deadline && running) {
+                LockSupport.parkNanos(deadline - now);
+            }
+            if (!running) break;
+
+            transferAdditions();
+            expire(wheel[(int) (tick & mask)]);
+            tick++;
+        }
+    }
+
+    private void transferAdditions() {
+        Entry entry;
+        while ((entry = additions.poll()) != null) {
+            if (entry.state.get() != ST_INIT) continue;
+
+            // 이미 지난 deadline 은 현재 bucket 에 넣어 이번 tick 에 만료
+            long ticks = Math.max(tick, (entry.deadlineNanos - startNanos) / tickNanos);
+            entry.rounds = (ticks - tick) / wheel.length;
+            wheel[(int) (ticks & mask)].add(entry);
+        }
+    }
+
+    private void expire(ArrayDeque<Entry> bucket) {
+        Iterator<Entry> it = bucket.iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (entry.state.get() == ST_CANCELLED) {
+                it.remove();
+            } else if (entry.rounds <= 0) {
+                it.remove();
+                if (entry.state.compareAndSet(ST_INIT, ST_EXPIRED)) {
+                    pending.decrementAndGet();
+                    executor.execute(entry.task);
+                }
+            } else {
+                entry.rounds--;
+            }
+        }
+    }
+
+    public interface Timeout {
+        // 아직 만료되지 않았으면 취소하고 true
+        boolean cancel();
+    }
+
+    private final class Entry implements Timeout {
+        private final Runnable task;
+        private final long deadlineNanos;
+        private final AtomicInteger state = new AtomicInteger(ST_INIT);
+        private long rounds; // worker 스레드만 접근
+
+        private Entry(Runnable task, long deadlineNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!state.compareAndSet(ST_INIT, ST_CANCELLED)) return false;
+            pending.decrementAndGet();
+            return true;
+        }
+    }
+}
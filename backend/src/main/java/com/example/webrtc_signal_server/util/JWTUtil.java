@@ -1,13 +1,26 @@
 package com.example.webrtc_signal_server.util;
 
+import com.example.webrtc_signal_server.domain.jwt.dto.JWTPrincipal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
 
 public class JWTUtil {
 
@@ -15,44 +28,117 @@ public class JWTUtil {
     private static final Long accessTokenExpiresIn;
     private static final Long refreshTokenExpiresIn;
 
+    // 서명 검증용 파서 (불변, 스레드 안전하므로 한 번만 생성)
+    private static final JwtParser parser;
+
+    // Access 토큰 검증 결과 캐시 (key: 토큰 SHA-256, exp 도달 시 만료)
+    private static final long ACCESS_CACHE_MAX_SIZE = 10_000L;
+    private static final Cache<String, JWTPrincipal> accessTokenCache;
+
     static  {
         String secretKeyString = "LCtgm2oxaUYg74ag8jIKiByPjED2CAo7";
         secretKey = new SecretKeySpec(secretKeyString.getBytes(StandardCharsets.UTF_8), Jwts.SIG.HS256.key().build().getAlgorithm());
 
         accessTokenExpiresIn = 3600L * 1000; // 1시간
         refreshTokenExpiresIn = 604800L * 1000; // 7일
+
+        parser = Jwts.parser().verifyWith(secretKey).build();
+
+        accessTokenCache = Caffeine.newBuilder()
+                .maximumSize(ACCESS_CACHE_MAX_SIZE)
+                .expireAfter(new Expiry<String, JWTPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(String key, JWTPrincipal value, long currentTime) {
+                        return Math.max(0L, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, JWTPrincipal value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, JWTPrincipal value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    // JWT 검증 + 클레임 추출을 한 번에 수행 (위조, 시간, Access/Refresh 여부)
+    public static Optional<JWTPrincipal> verify(String token, boolean isAccess) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+
+        if (!isAccess) {
+            return parse(token).filter(principal -> "refresh".equals(principal.type()));
+        }
+
+        String key = digest(token);
+        JWTPrincipal cached = accessTokenCache.getIfPresent(key);
+        if (cached != null && !cached.isExpired(Instant.now())) {
+            return Optional.of(cached);
+        }
+
+        Optional<JWTPrincipal> principal = parse(token).filter(JWTPrincipal::isAccess);
+        principal.ifPresent(p -> accessTokenCache.put(key, p));
+        return principal;
+    }
+
+    private static Optional<JWTPrincipal> parse(String token) {
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+
+            String type = claims.get("type", String.class);
+            Date expiration = claims.getExpiration();
+            if (type == null || expiration == null) return Optional.empty();
+
+            return Optional.of(new JWTPrincipal(
+                    claims.get("sub", String.class),
+                    claims.get("role", String.class),
+                    type,
+                    expiration.toInstant()
+            ));
+
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
     }
 
     // JWT 클레임 username 파싱
     public static String getUsername(String token) {
-        return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload().get("sub", String.class);
+        return parser.parseSignedClaims(token).getPayload().get("sub", String.class);
     }
 
     // JWT 클레임 role 파싱
     public static String getRole(String token) {
-        return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload().get("role", String.class);
+        return parser.parseSignedClaims(token).getPayload().get("role", String.class);
     }
 
     // JWT 유효 여부 (위조, 시간, Access/Refresh 여부)
     public static Boolean isValid(String token, Boolean isAccess) {
-        try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-
-            String type = claims.get("type", String.class);
-            if (type == null) return false;
+        return verify(token, isAccess).isPresent();
+    }
 
-            if (isAccess && !type.equals("access")) return false;
-            if (!isAccess && !type.equals("refresh")) return false;
+    // 토큰 원문 대신 저장/조회 키로 쓰는 고정 길이 digest (SHA-256, hex 64자)
+    public static String digest(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(md.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
 
-            return true;
+    // Access 토큰 검증 캐시 (크기 산정을 위한 hit/miss 지표용)
+    public static Cache<String, JWTPrincipal> accessTokenCache() {
+        return accessTokenCache;
+    }
 
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
+    public static CacheStats accessTokenCacheStats() {
+        return accessTokenCache.stats();
     }
 
     // JWT(Access/Refresh) 생성
@@ -62,7 +148,9 @@ public class JWTUtil {
         long expiry = isAccess ? accessTokenExpiresIn : refreshTokenExpiresIn;
         String type = isAccess ? "access" : "refresh";
 
+        // jti: 같은 시각에 같은 유저로 발급해도 토큰(digest)이 겹치지 않도록
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .claim("sub", username)
                 .claim("role", role)
                 .claim("type", type)
@@ -0,0 +1,112 @@
+package com.example.webrtc_signal_server.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * key 별 mailbox : 같은 key 의 작업은 제출 순서대로 한 번에 하나씩, 다른 key 끼리는 공유 executor 에서 병렬로 실행합니다.
+ * - 전역 lock 없이 key 의 ConcurrentHashMap bin 에서만 등록/제거를 맞춥니다.
+ * - mailbox 는 작업이 있을 때만 executor 에 올라가고, 비면 map 에서 제거됩니다.
+ * - 한 번에 batchSize 개까지만 실행하고 다시 executor 에 올려 바쁜 key 가 스레드를 독점하지 않게 합니다.
+ * - mailbox 안에서 같은 key 로 다시 제출하면 (재진입) 바로 실행합니다.
+ */
+public class KeyedSerialExecutor<K> {
+
+    private final Executor executor;
+    private final int batchSize;
+    private final ConcurrentHashMap<K, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final ThreadLocal<K> current = new ThreadLocal<>();
+
+    public KeyedSerialExecutor(Executor executor, int batchSize) {
+        if (batchSize <= 0) throw new IllegalArgumentException("batchSize must be positive");
+        this.executor = executor;
+        this.batchSize = batchSize;
+    }
+
+    public <T> CompletableFuture<T> submit(K key, Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Runnable job = () -> {
+            try {
+                future.complete(task.call());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        };
+
+        if (key.equals(current.get())) {
+            job.run();
+            return future;
+        }
+
+        queued.incrementAndGet();
+        // 등록과 "비어 있던 mailbox 시작" 을 같은 bin lock 안에서 처리 (mailbox 제거와 경쟁하지 않도록)
+        mailboxes.compute(key, (k, existing) -> {
+            Mailbox mailbox = existing != null ? existing : new Mailbox(k);
+            mailbox.tasks.add(job);
+            if (mailbox.pending.getAndIncrement() == 0) {
+                executor.execute(mailbox);
+            }
+            return mailbox;
+        });
+        return future;
+    }
+
+    // 해당 key 의 대기 + 실행 중 작업 수
+    public int depth(K key) {
+        Mailbox mailbox = mailboxes.get(key);
+        return mailbox == null ? 0 : mailbox.pending.get();
+    }
+
+    // 전체 대기 + 실행 중 작업 수
+    public int queued() {
+        return queued.get();
+    }
+
+    // 작업이 남아 있는 key 수
+    public int activeKeys() {
+        return mailboxes.size();
+    }
+
+    public Map<K, Integer> depths() {
+        Map<K, Integer> depths = new HashMap<>();
+        mailboxes.forEach((key, mailbox) -> depths.put(key, mailbox.pending.get()));
+        return depths;
+    }
+
+    private final class Mailbox implements Runnable {
+        private final K key;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private Mailbox(K key) {
+            this.key = key;
+        }
+
+        @Override
+        public void run() {
+            current.set(key);
+            try {
+                for (int i = 0; i < batchSize; i++) {
+                    tasks.poll().run();
+                    queued.decrementAndGet();
+                    if (pending.decrementAndGet() == 0) {
+                        // 그 사이 제출된 작업이 있으면 pending > 0 이고 제출한 쪽이 이미 다시 올렸음
+                        mailboxes.computeIfPresent(key, (k, mailbox) -> mailbox == this && pending.get() == 0 ? null : mailbox);
+                        return;
+                    }
+                }
+                executor.execute(this);
+            } finally {
+                current.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.webrtc_signal_server.api;
+
+import com.example.webrtc_signal_server.config.CustomControllerAdvice;
+import com.example.webrtc_signal_server.domain.session.service.RecapCache;
+import com.example.webrtc_signal_server.domain.session.service.SessionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPOutputStream;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// GET /api/sessions/{id}/recap : 조건부 요청, Range, gzip 협상, 비동기 실패
+class SessionControllerTest {
+
+    private static final byte[] CONTENT = "회의 요약\r\n다음 회의는 금요일".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] GZIPPED = gzip(CONTENT);
+
+    private final SessionService sessionService = mock(SessionService.class);
+
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new SessionController(sessionService))
+            .setControllerAdvice(new CustomControllerAdvice())
+            .build();
+
+    @Test
+    void plainRecapCarriesItsETagAndVariesByEncoding() throws Exception {
+        recapIsCached();
+
+        recap(get("/api/sessions/1/recap"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"etag-1\""))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().bytes(CONTENT));
+    }
+
+    @Test
+    void matchingIfNoneMatchIsNotModified() throws Exception {
+        recapIsCached();
+
+        recap(get("/api/sessions/1/recap").header(HttpHeaders.IF_NONE_MATCH, "\"etag-1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"etag-1\""))
+                .andExpect(content().bytes(new byte[0]));
+
+        // gzip 사본의 ETag 는 원본과 달라서 원본 ETag 로는 304 가 아님
+        recap(get("/api/sessions/1/recap").header(HttpHeaders.IF_NONE_MATCH, "\"etag-1\"")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(GZIPPED));
+        recap(get("/api/sessions/1/recap").header(HttpHeaders.IF_NONE_MATCH, "\"etag-1-gzip\"")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void rangeIsServedFromTheUncompressedRepresentation() throws Exception {
+        recapIsCached();
+
+        recap(get("/api/sessions/1/recap").header(HttpHeaders.RANGE, "bytes=0-5")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 0-5/" + CONTENT.length))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().bytes(Arrays.copyOf(CONTENT, 6)));
+    }
+
+    @Test
+    void gzipCopyHasItsOwnETagWithVaryAndContentEncoding() throws Exception {
+        recapIsCached();
+
+        recap(get("/api/sessions/1/recap").header(HttpHeaders.ACCEPT_ENCODING, "deflate, gzip;q=0.5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"etag-1-gzip\""))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(content().bytes(GZIPPED));
+    }
+
+    @Test
+    void gzipFollowsQualityValues() throws Exception {
+        recapIsCached();
+
+        for (String refused : new String[]{"gzip;q=0", "gzip; q=0.0", "gzip;q=0, *", "identity, *;q=0", "deflate"}) {
+            recap(get("/api/sessions/1/recap").header(HttpHeaders.ACCEPT_ENCODING, refused))
+                    .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                    .andExpect(content().bytes(CONTENT));
+        }
+        for (String accepted : new String[]{"*", "br;q=1, *;q=0.1", "GZIP;Q=1"}) {
+            recap(get("/api/sessions/1/recap").header(HttpHeaders.ACCEPT_ENCODING, accepted))
+                    .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                    .andExpect(content().bytes(GZIPPED));
+        }
+    }
+
+    @Test
+    void failedRecapLookupIsMappedByTheControllerAdvice() throws Exception {
+        when(sessionService.getSessionRecap(1L)).thenReturn(
+                CompletableFuture.failedFuture(new IllegalArgumentException("No recap file found for room: room")));
+
+        recap(get("/api/sessions/1/recap"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("잘못된 요청입니다."));
+    }
+
+    private void recapIsCached() {
+        RecapCache.Recap recap = new RecapCache.Recap("Summarize/room_1.txt", "etag-1", CONTENT.length,
+                CONTENT, GZIPPED, null, System.currentTimeMillis());
+        when(sessionService.getSessionRecap(1L)).thenReturn(CompletableFuture.completedFuture(recap));
+    }
+
+    // 컨트롤러는 CompletableFuture 를 반환하므로 async 시작 후 dispatch 결과를 검증
+    private ResultActions recap(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult started = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(content);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
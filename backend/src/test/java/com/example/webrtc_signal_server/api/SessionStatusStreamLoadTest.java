@@ -0,0 +1,155 @@
+package com.example.webrtc_signal_server.api;
+
+import com.example.webrtc_signal_server.config.TomcatConfig;
+import com.example.webrtc_signal_server.domain.session.entity.SessionStatus;
+import com.example.webrtc_signal_server.domain.session.service.SessionService;
+import com.example.webrtc_signal_server.domain.session.service.SessionStatusStreams;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.coyote.AbstractProtocol;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.embedded.EmbeddedWebServerFactoryCustomizerAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+// 실제 내장 Tomcat (랜덤 포트) 에 text/event-stream 연결 N 개를 열어 둔 채 : 연결당 첫 이벤트 지연, 전이 fan-out 시간, 서버 구독자 수.
+// 웹 계층만 띄움 (SessionController + SessionStatusStreams + TomcatConfig, SessionService 는 mock 으로 현재 상태만 돌려줌), DB/보안 제외.
+// 클라이언트 소켓과 서버 연결이 같은 프로세스라 fd 가 연결 수의 2 배 이상 필요 (ulimit -n), 연결 수는 -Dsse.connections 로 변경.
+// 기본 test 에서 제외, ./gradlew benchmark 로 실행 (수치는 테스트 리포트에 기록)
+@Tag("benchmark")
+@SpringBootTest(classes = SessionStatusStreamLoadTest.WebLayer.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class SessionStatusStreamLoadTest {
+
+    private static final int CONNECTIONS = Integer.getInteger("sse.connections", 2_000);
+    private static final int SESSIONS = 100;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ServletWebServerApplicationContext context;
+
+    @Autowired
+    private SessionStatusStreams sessionStatusStreams;
+
+    @MockitoBean
+    private SessionService sessionService;
+
+    @Test
+    void holdsThousandsOfOpenEventStreams(TestReporter reporter) throws Exception {
+        when(sessionService.subscribeSessionStatus(anyLong())).thenAnswer(invocation ->
+                sessionStatusStreams.subscribe(invocation.getArgument(0), () -> SessionStatus.IN_PROGRESS));
+        AbstractProtocol<?> protocol = (AbstractProtocol<?>) ((TomcatWebServer) context.getWebServer())
+                .getTomcat().getConnector().getProtocolHandler();
+        assertThat(protocol.getMaxConnections()).isGreaterThan(CONNECTIONS);
+
+        List<Socket> sockets = new ArrayList<>(CONNECTIONS);
+        long[] firstEventNanos = new long[CONNECTIONS];
+        try {
+            // 연결마다 요청 후 현재 상태 이벤트까지 (응답이 끝나지 않은 채로 다음 연결)
+            long begin = System.nanoTime();
+            for (int i = 0; i < CONNECTIONS; i++) {
+                long opened = System.nanoTime();
+                Socket socket = open(i % SESSIONS);
+                sockets.add(socket);
+                readUntil(socket, "data:IN_PROGRESS");
+                firstEventNanos[i] = System.nanoTime() - opened;
+            }
+            long connectMillis = (System.nanoTime() - begin) / 1_000_000;
+            assertThat(sessionStatusStreams.subscriberCount()).isEqualTo(CONNECTIONS);
+
+            // 전이 fan-out : COMPLETED 는 보내고 닫으므로 모든 연결이 이벤트를 받고 구독이 정리됨
+            begin = System.nanoTime();
+            for (long sessionId = 0; sessionId < SESSIONS; sessionId++) {
+                sessionStatusStreams.publish(sessionId, SessionStatus.COMPLETED);
+            }
+            for (Socket socket : sockets) {
+                readUntil(socket, "data:COMPLETED");
+            }
+            long fanOutMillis = (System.nanoTime() - begin) / 1_000_000;
+            assertThat(sessionStatusStreams.subscriberCount()).isZero();
+
+            Arrays.sort(firstEventNanos);
+            reporter.publishEntry("connections", String.valueOf(CONNECTIONS));
+            reporter.publishEntry("maxConnections", String.valueOf(protocol.getMaxConnections()));
+            reporter.publishEntry("connectMillis", String.valueOf(connectMillis));
+            reporter.publishEntry("firstEventP99Millis", String.format("%.2f", firstEventNanos[(int) (CONNECTIONS * 0.99)] / 1e6));
+            reporter.publishEntry("fanOutMillis", String.valueOf(fanOutMillis));
+        } finally {
+            for (Socket socket : sockets) {
+                socket.close();
+            }
+        }
+    }
+
+    private Socket open(long sessionId) throws IOException {
+        Socket socket = new Socket();
+        socket.connect(new InetSocketAddress("localhost", port), 10_000);
+        socket.setSoTimeout(10_000);
+        OutputStream out = socket.getOutputStream();
+        out.write(("GET /api/sessions/" + sessionId + "/status/stream HTTP/1.1\r\n" +
+                "Host: localhost\r\n" +
+                "Accept: text/event-stream\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+        return socket;
+    }
+
+    // chunked 응답을 그대로 읽으며 marker 가 나올 때까지 (이벤트 한 건은 chunk 하나에 들어감)
+    private static void readUntil(Socket socket, String marker) throws IOException {
+        InputStream in = socket.getInputStream();
+        StringBuilder received = new StringBuilder();
+        byte[] buffer = new byte[1024];
+        while (received.indexOf(marker) < 0) {
+            int read = in.read(buffer);
+            if (read < 0) throw new IOException("Stream closed before " + marker + ": " + received);
+            received.append(new String(buffer, 0, read, StandardCharsets.UTF_8));
+        }
+    }
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({
+            ServletWebServerFactoryAutoConfiguration.class,
+            EmbeddedWebServerFactoryCustomizerAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class,
+            WebMvcAutoConfiguration.class,
+            HttpMessageConvertersAutoConfiguration.class,
+            JacksonAutoConfiguration.class
+    })
+    @Import({SessionController.class, SessionStatusStreams.class, TomcatConfig.class})
+    static class WebLayer {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
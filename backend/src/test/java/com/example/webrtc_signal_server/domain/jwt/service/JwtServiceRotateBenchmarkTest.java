@@ -0,0 +1,107 @@
+package com.example.webrtc_signal_server.domain.jwt.service;
+
+import com.example.webrtc_signal_server.config.JpaAuditingConfig;
+import com.example.webrtc_signal_server.domain.jwt.dto.RefreshRequestDTO;
+import com.example.webrtc_signal_server.domain.jwt.entity.RefreshEntity;
+import com.example.webrtc_signal_server.domain.jwt.repository.RefreshRepository;
+import com.example.webrtc_signal_server.util.JWTUtil;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 동시 Rotate 처리량과 지연 (H2, 토큰마다 경쟁 요청 포함) : 기본 test 에서 제외, ./gradlew benchmark 로 실행 (결과는 테스트 리포트에 기록)
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import({JwtService.class, RefreshTokenFilter.class, JpaAuditingConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 요청마다 JwtService 의 트랜잭션이 커밋되도록
+class JwtServiceRotateBenchmarkTest {
+
+    private static final int TOKENS = 5_000;
+    private static final int CALLERS_PER_TOKEN = 2;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private RefreshRepository refreshRepository;
+
+    @Autowired
+    private RefreshTokenFilter refreshTokenFilter;
+
+    @Test
+    void rotationsUnderContention(TestReporter reporter) throws Exception {
+        refreshRepository.deleteAll();
+        List<String> tokens = new ArrayList<>(TOKENS);
+        List<RefreshEntity> entities = new ArrayList<>(TOKENS);
+        for (int i = 0; i < TOKENS; i++) {
+            String token = JWTUtil.createJWT("user" + i, "ROLE_USER", false);
+            entities.add(RefreshEntity.builder().username("user" + i).refreshHash(JWTUtil.digest(token)).build());
+            tokens.add(token);
+        }
+        refreshRepository.saveAll(entities);
+        refreshTokenFilter.rebuild();
+
+        int calls = TOKENS * CALLERS_PER_TOKEN;
+        long[] latencies = new long[calls];
+        AtomicInteger rotated = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>(calls);
+
+        for (int i = 0; i < calls; i++) {
+            int call = i;
+            String token = tokens.get(i % TOKENS);
+            futures.add(executor.submit(() -> {
+                start.await();
+                RefreshRequestDTO dto = new RefreshRequestDTO();
+                dto.setRefreshToken(token);
+                long begin = System.nanoTime();
+                try {
+                    jwtService.refreshRotate(dto);
+                    rotated.incrementAndGet();
+                } catch (RuntimeException e) {
+                    // 같은 토큰의 다른 요청이 먼저 교체함
+                }
+                latencies[call] = System.nanoTime() - begin;
+                return null;
+            }));
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(120, TimeUnit.SECONDS);
+        }
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+
+        assertThat(rotated.get()).isEqualTo(TOKENS);
+        assertThat(refreshRepository.count()).isEqualTo(TOKENS);
+
+        Arrays.sort(latencies);
+        reporter.publishEntry("throughput", String.format("%.0f rotations/s (%d calls, %d threads)", calls / (elapsed / 1e9), calls, THREADS));
+        reporter.publishEntry("p50", String.format("%.2f ms", latencies[calls / 2] / 1e6));
+        reporter.publishEntry("p99", String.format("%.2f ms", latencies[(int) (calls * 0.99)] / 1e6));
+    }
+}
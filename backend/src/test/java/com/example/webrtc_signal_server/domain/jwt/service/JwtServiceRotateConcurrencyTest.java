@@ -0,0 +1,122 @@
+package com.example.webrtc_signal_server.domain.jwt.service;
+
+import com.example.webrtc_signal_server.config.JpaAuditingConfig;
+import com.example.webrtc_signal_server.domain.jwt.dto.JWTResponseDTO;
+import com.example.webrtc_signal_server.domain.jwt.dto.RefreshRequestDTO;
+import com.example.webrtc_signal_server.domain.jwt.entity.RefreshEntity;
+import com.example.webrtc_signal_server.domain.jwt.repository.RefreshRepository;
+import com.example.webrtc_signal_server.util.JWTUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 같은 Refresh 토큰 동시 Rotate : 실제 조건부 UPDATE (H2) 로 토큰마다 정확히 한 요청만 성공하고, 필터는 커밋 결과를 따름
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import({JwtService.class, RefreshTokenFilter.class, JpaAuditingConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 요청마다 JwtService 의 트랜잭션이 커밋되도록
+class JwtServiceRotateConcurrencyTest {
+
+    private static final int TOKENS = 200;
+    private static final int CALLERS_PER_TOKEN = 4;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private RefreshRepository refreshRepository;
+
+    @Autowired
+    private RefreshTokenFilter refreshTokenFilter;
+
+    @Test
+    void exactlyOneConcurrentRotationWinsPerToken() throws Exception {
+        refreshRepository.deleteAll();
+        List<String> tokens = new ArrayList<>(TOKENS);
+        List<RefreshEntity> entities = new ArrayList<>(TOKENS);
+        for (int i = 0; i < TOKENS; i++) {
+            String token = JWTUtil.createJWT("user" + i, "ROLE_USER", false);
+            entities.add(RefreshEntity.builder().username("user" + i).refreshHash(JWTUtil.digest(token)).build());
+            tokens.add(token);
+        }
+        refreshRepository.saveAll(entities);
+        refreshTokenFilter.rebuild();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger losers = new AtomicInteger();
+        ConcurrentLinkedQueue<String> rotatedTokens = new ConcurrentLinkedQueue<>();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < TOKENS * CALLERS_PER_TOKEN; i++) {
+            String token = tokens.get(i % TOKENS);
+            futures.add(executor.submit(() -> {
+                start.await();
+                RefreshRequestDTO dto = new RefreshRequestDTO();
+                dto.setRefreshToken(token);
+                try {
+                    JWTResponseDTO response = jwtService.refreshRotate(dto);
+                    rotatedTokens.add(response.refreshToken());
+                } catch (RuntimeException e) {
+                    losers.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(rotatedTokens).hasSize(TOKENS);
+        assertThat(losers.get()).isEqualTo(TOKENS * (CALLERS_PER_TOKEN - 1));
+
+        // DB : 기존 토큰은 모두 교체되고 성공한 신규 토큰만 남음
+        assertThat(refreshRepository.count()).isEqualTo(TOKENS);
+        for (String token : tokens) {
+            assertThat(refreshRepository.existsByRefreshHash(JWTUtil.digest(token))).isFalse();
+            assertThat(refreshTokenFilter.mightContain(JWTUtil.digest(token))).isFalse();
+        }
+        for (String token : rotatedTokens) {
+            assertThat(refreshRepository.existsByRefreshHash(JWTUtil.digest(token))).isTrue();
+            assertThat(refreshTokenFilter.mightContain(JWTUtil.digest(token))).isTrue();
+        }
+    }
+
+    @Test
+    void rotatedTokenCannotBeRotatedAgain() {
+        refreshRepository.deleteAll();
+        String token = JWTUtil.createJWT("user", "ROLE_USER", false);
+        refreshRepository.save(RefreshEntity.builder().username("user").refreshHash(JWTUtil.digest(token)).build());
+        refreshTokenFilter.rebuild();
+
+        RefreshRequestDTO dto = new RefreshRequestDTO();
+        dto.setRefreshToken(token);
+        JWTResponseDTO rotated = jwtService.refreshRotate(dto);
+
+        assertThatThrownBy(() -> jwtService.refreshRotate(dto)).isInstanceOf(RuntimeException.class);
+        assertThat(jwtService.existsRefresh(rotated.refreshToken())).isTrue();
+        assertThat(jwtService.existsRefresh(token)).isFalse();
+    }
+}
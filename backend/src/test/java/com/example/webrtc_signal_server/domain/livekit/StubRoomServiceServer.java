@@ -0,0 +1,81 @@
+package com.example.webrtc_signal_server.domain.livekit;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import livekit.LivekitRoom;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 테스트용 로컬 LiveKit RoomService (twirp) 서버.
+ * SendData 요청을 (room, payload) 로 기록하고, failRooms 에 등록된 방은 503 으로 응답한다.
+ */
+public class StubRoomServiceServer implements AutoCloseable {
+
+    public record SentPacket(String room, String payload) {
+    }
+
+    private final HttpServer server;
+    private final List<SentPacket> received = new CopyOnWriteArrayList<>();
+    private final Set<String> failRooms = ConcurrentHashMap.newKeySet();
+
+    public StubRoomServiceServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/twirp/livekit.RoomService/SendData", this::handleSendData);
+        server.createContext("/", exchange -> respond(exchange, 200, new byte[0]));
+        server.start();
+    }
+
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public List<SentPacket> received() {
+        return received;
+    }
+
+    public void failRoom(String room) {
+        failRooms.add(room);
+    }
+
+    public void recoverRoom(String room) {
+        failRooms.remove(room);
+    }
+
+    private void handleSendData(HttpExchange exchange) throws IOException {
+        byte[] body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = in.readAllBytes();
+        }
+        LivekitRoom.SendDataRequest request = LivekitRoom.SendDataRequest.parseFrom(body);
+
+        if (failRooms.contains(request.getRoom())) {
+            respond(exchange, 503, new byte[0]);
+            return;
+        }
+
+        received.add(new SentPacket(request.getRoom(), request.getData().toString(StandardCharsets.UTF_8)));
+        respond(exchange, 200, LivekitRoom.SendDataResponse.getDefaultInstance().toByteArray());
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "application/protobuf");
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            exchange.getResponseBody().write(body);
+        }
+        exchange.close();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.webrtc_signal_server.domain.livekit.service;
+
+import com.example.webrtc_signal_server.domain.livekit.dto.LiveKitRequestDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 스레드 수별 토큰 발급 처리량 : 기본 test 에서 제외, ./gradlew benchmark 로 실행 (처리량은 테스트 리포트에 기록)
+@Tag("benchmark")
+class LiveKitTokenServiceBenchmarkTest {
+
+    private static final int TOKENS_PER_RUN = 20_000;
+
+    @Test
+    void mintingScalesAcrossThreads(TestReporter reporter) throws Exception {
+        // cache-fraction 0 : 캐시 없이 매번 서명
+        LiveKitTokenService service = new LiveKitTokenService("devkey", "secret-secret-secret-secret-secret",
+                21600, 0.0, 10_000, new SimpleMeterRegistry());
+
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            Set<String> tokens = ConcurrentHashMap.newKeySet();
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            int perThread = TOKENS_PER_RUN / threads;
+            int worker = threads;
+
+            long begin = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t * perThread;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        tokens.add(service.createToken(request("user-" + (offset + i), "room-" + worker)));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+            long elapsed = System.nanoTime() - begin;
+            executor.shutdown();
+
+            assertThat(tokens).hasSize(perThread * threads);
+            reporter.publishEntry("threads=" + threads, String.format("%.0f tokens/s", perThread * threads / (elapsed / 1e9)));
+        }
+    }
+
+    private static LiveKitRequestDTO request(String identity, String roomName) {
+        LiveKitRequestDTO dto = new LiveKitRequestDTO();
+        dto.setIdentity(identity);
+        dto.setName(identity);
+        dto.setMetadata("{}");
+        dto.setRoomName(roomName);
+        return dto;
+    }
+}
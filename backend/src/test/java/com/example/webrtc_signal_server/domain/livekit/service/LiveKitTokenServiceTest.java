@@ -0,0 +1,32 @@
+package com.example.webrtc_signal_server.domain.livekit.service;
+
+import com.example.webrtc_signal_server.domain.livekit.dto.LiveKitRequestDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LiveKitTokenServiceTest {
+
+    @Test
+    void reconnectReusesCachedToken() {
+        LiveKitTokenService service = new LiveKitTokenService("devkey", "secret-secret-secret-secret-secret",
+                21600, 0.1, 10_000, new SimpleMeterRegistry());
+
+        String first = service.createToken(request("user-1", "room-1"));
+        String second = service.createToken(request("user-1", "room-1"));
+        String otherRoom = service.createToken(request("user-1", "room-2"));
+
+        assertThat(second).isEqualTo(first);
+        assertThat(otherRoom).isNotEqualTo(first);
+    }
+
+    private static LiveKitRequestDTO request(String identity, String roomName) {
+        LiveKitRequestDTO dto = new LiveKitRequestDTO();
+        dto.setIdentity(identity);
+        dto.setName(identity);
+        dto.setMetadata("{}");
+        dto.setRoomName(roomName);
+        return dto;
+    }
+}
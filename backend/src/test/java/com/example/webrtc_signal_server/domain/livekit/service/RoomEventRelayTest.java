@@ -0,0 +1,172 @@
+package com.example.webrtc_signal_server.domain.livekit.service;
+
+import com.example.webrtc_signal_server.domain.livekit.StubRoomServiceServer;
+import com.example.webrtc_signal_server.domain.livekit.entity.RoomEventOutbox;
+import com.example.webrtc_signal_server.domain.livekit.repository.RoomEventOutboxRepository;
+import io.livekit.server.RoomServiceClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RoomEventRelayTest {
+
+    private StubRoomServiceServer stub;
+    private RoomEventOutboxRepository repository;
+    private LiveKitService liveKitService;
+    private RoomEventRelay relay;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new StubRoomServiceServer();
+        RoomServiceClient client = RoomServiceClient.createClient(stub.url(), "devkey", "secret-secret-secret-secret-secret");
+        liveKitService = new LiveKitService(client, null, null);
+        repository = mock(RoomEventOutboxRepository.class);
+        relay = relay(new RoomPacketCoalescer(32, 15_000));
+    }
+
+    private RoomEventRelay relay(RoomPacketCoalescer coalescer) {
+        return new RoomEventRelay(repository, liveKitService, coalescer, mock(TaskScheduler.class),
+                new SimpleMeterRegistry(), 20, 200, 3, 100, 1000, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        relay.shutdown();
+        stub.close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void coalescesEventsOfOneRoomIntoOneOrderedPacket() {
+        relay.deliver(List.of(
+                event(1L, "room-a", "a1"),
+                event(2L, "room-b", "b1"),
+                event(3L, "room-a", "a2"),
+                event(4L, "room-a", "a3")
+        ), LocalDateTime.now());
+
+        assertThat(stub.received()).containsExactlyInAnyOrder(
+                new StubRoomServiceServer.SentPacket("room-a", "{\"type\":\"EVENT_BATCH\",\"events\":[\"a1\",\"a2\",\"a3\"]}"),
+                new StubRoomServiceServer.SentPacket("room-b", "\"b1\"")
+        );
+        ArgumentCaptor<List<Long>> sentIds = ArgumentCaptor.forClass(List.class);
+        verify(repository).markSent(sentIds.capture(), any());
+        assertThat(sentIds.getValue()).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    void splitsPacketsAtMaxEventsKeepingOrder() {
+        relay.shutdown();
+        relay = relay(new RoomPacketCoalescer(2, 15_000));
+
+        relay.deliver(List.of(
+                event(1L, "room-a", "a1"),
+                event(2L, "room-a", "a2"),
+                event(3L, "room-a", "a3")
+        ), LocalDateTime.now());
+
+        assertThat(stub.received()).extracting(StubRoomServiceServer.SentPacket::payload).containsExactly(
+                "{\"type\":\"EVENT_BATCH\",\"events\":[\"a1\",\"a2\"]}",
+                "\"a3\""
+        );
+    }
+
+    @Test
+    void failedPacketBlocksLaterEventsOfSameRoomOnly() {
+        stub.failRoom("room-a");
+        relay.shutdown();
+        relay = relay(new RoomPacketCoalescer(1, 15_000));
+
+        relay.deliver(List.of(
+                event(1L, "room-a", "a1"),
+                event(2L, "room-a", "a2"),
+                event(3L, "room-b", "b1")
+        ), LocalDateTime.now());
+
+        assertThat(stub.received()).extracting(StubRoomServiceServer.SentPacket::payload).containsExactly("\"b1\"");
+        verify(repository).markSent(eq(List.of(3L)), any());
+        verify(repository).markRetry(eq(1L), eq(1), any(), anyString());
+        verify(repository, never()).markRetry(eq(2L), anyInt(), any(), anyString());
+    }
+
+    @Test
+    void eventIsDeadLetteredAfterMaxAttempts() {
+        stub.failRoom("room-a");
+        RoomEventOutbox exhausted = event(1L, "room-a", "a1");
+        ReflectionTestUtils.setField(exhausted, "attempts", 2);
+
+        relay.deliver(List.of(exhausted), LocalDateTime.now());
+
+        verify(repository).markDead(eq(1L), eq(3), anyString());
+        verify(repository, never()).markSent(anyList(), any());
+    }
+
+    @Test
+    void eventInBackoffIsNotSentYet() {
+        RoomEventOutbox waiting = event(1L, "room-a", "a1");
+        ReflectionTestUtils.setField(waiting, "nextAttemptAt", LocalDateTime.now().plusMinutes(1));
+
+        relay.deliver(List.of(waiting, event(2L, "room-a", "a2")), LocalDateTime.now());
+
+        assertThat(stub.received()).isEmpty();
+        verify(repository, never()).markRetry(anyLong(), anyInt(), any(), anyString());
+    }
+
+    @Test
+    void failureWhileRecordingARetryStillMarksOtherRoomsSent() {
+        stub.failRoom("room-a");
+        when(repository.markRetry(eq(1L), anyInt(), any(), anyString())).thenThrow(new IllegalStateException("db down"));
+
+        relay.deliver(List.of(
+                event(1L, "room-a", "a1"),
+                event(2L, "room-b", "b1")
+        ), LocalDateTime.now());
+
+        verify(repository).markSent(eq(List.of(2L)), any());
+    }
+
+    @Test
+    void fullBatchIsFollowedByTheNextOneInTheSameRun() {
+        relay.shutdown();
+        relay = new RoomEventRelay(repository, liveKitService, new RoomPacketCoalescer(32, 15_000), mock(TaskScheduler.class),
+                new SimpleMeterRegistry(), 20, 2, 3, 100, 1000, 4);
+        when(repository.findDueBatch(any(), any())).thenReturn(
+                List.of(event(1L, "room-a", "a1"), event(2L, "room-a", "a2")),
+                List.of(event(3L, "room-a", "a3")));
+
+        relay.relay();
+
+        assertThat(stub.received()).extracting(StubRoomServiceServer.SentPacket::payload).containsExactly(
+                "{\"type\":\"EVENT_BATCH\",\"events\":[\"a1\",\"a2\"]}",
+                "\"a3\""
+        );
+        verify(repository, times(2)).findDueBatch(any(), any());
+    }
+
+    private static RoomEventOutbox event(Long id, String room, String payload) {
+        RoomEventOutbox event = RoomEventOutbox.of(room, "\"" + payload + "\"");
+        ReflectionTestUtils.setField(event, "id", id);
+        ReflectionTestUtils.setField(event, "nextAttemptAt", LocalDateTime.now().minusSeconds(1));
+        return event;
+    }
+}
@@ -0,0 +1,315 @@
+package com.example.webrtc_signal_server.domain.session.service;
+
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.example.webrtc_signal_server.global.service.S3Service;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.stubbing.Answer;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class RecapCacheTest {
+
+    private static final String ROOM = "주간 회의";
+    private static final String KEY = "Summarize/주간 회의_1.txt";
+    private static final byte[] CONTENT = "요약\r\n내용".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path dir;
+
+    private final S3Service s3Service = mock(S3Service.class);
+    private final TaskScheduler taskScheduler = mock(TaskScheduler.class);
+
+    @Test
+    void concurrentMissesShareOneS3Fetch() throws Exception {
+        when(s3Service.findLatestRecap(ROOM)).thenReturn(summary());
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Answer<String> download = download(CONTENT);
+        when(s3Service.downloadIfNoneMatch(eq(KEY), isNull(), any(Path.class))).thenAnswer(invocation -> {
+            fetching.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return download.answer(invocation);
+        });
+        RecapCache cache = cache(60);
+
+        int requests = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        List<Future<RecapCache.Recap>> futures = new ArrayList<>();
+        futures.add(executor.submit(() -> get(cache)));
+        assertThat(fetching.await(10, TimeUnit.SECONDS)).isTrue();
+        for (int i = 1; i < requests; i++) {
+            futures.add(executor.submit(() -> get(cache)));
+        }
+        Thread.sleep(100);
+        release.countDown();
+
+        for (Future<RecapCache.Recap> future : futures) {
+            assertThat(future.get(10, TimeUnit.SECONDS).content()).isEqualTo(CONTENT);
+        }
+        executor.shutdown();
+
+        verify(s3Service, times(1)).findLatestRecap(ROOM);
+        verify(s3Service, times(1)).downloadIfNoneMatch(eq(KEY), isNull(), any(Path.class));
+
+        // 원본 바이트(줄바꿈 포함) 그대로, gzip 사본은 풀면 같은 본문
+        RecapCache.Recap recap = get(cache);
+        assertThat(read(recap.resource(false))).isEqualTo(CONTENT);
+        try (InputStream in = new GZIPInputStream(recap.resource(true).getInputStream())) {
+            assertThat(in.readAllBytes()).isEqualTo(CONTENT);
+        }
+    }
+
+    @Test
+    void staleEntryIsRevalidatedWithItsETag() throws Exception {
+        when(s3Service.findLatestRecap(ROOM)).thenReturn(summary());
+        when(s3Service.downloadIfNoneMatch(eq(KEY), isNull(), any(Path.class))).thenAnswer(download(CONTENT));
+        RecapCache cache = cache(0);
+
+        get(cache);
+        // 304 : 본문은 다시 받지 않고 캐시된 내용을 그대로 사용
+        RecapCache.Recap revalidated = get(cache);
+
+        assertThat(revalidated.content()).isEqualTo(CONTENT);
+        assertThat(revalidated.eTag()).isEqualTo("etag-1");
+        verify(s3Service).downloadIfNoneMatch(eq(KEY), isNull(), any(Path.class));
+        verify(s3Service).downloadIfNoneMatch(eq(KEY), eq("etag-1"), any(Path.class));
+    }
+
+    @Test
+    void diskTierSurvivesRestart() throws Exception {
+        when(s3Service.findLatestRecap(ROOM)).thenReturn(summary());
+        when(s3Service.downloadIfNoneMatch(eq(KEY), isNull(), any(Path.class))).thenAnswer(download(CONTENT));
+        get(cache(60));
+
+        S3Service restarted = mock(S3Service.class);
+        assertThat(get(cache(restarted, 1_000_000L, 60)).content()).isEqualTo(CONTENT);
+        verifyNoInteractions(restarted);
+    }
+
+    @Test
+    void largeRecapsAreStreamedFromDisk() throws Exception {
+        byte[] large = "회의록 ".repeat(10_000).getBytes(StandardCharsets.UTF_8);
+        when(s3Service.findLatestRecap(ROOM)).thenReturn(summary());
+        when(s3Service.downloadIfNoneMatch(eq(KEY), isNull(), any(Path.class))).thenAnswer(download(large));
+        RecapCache cache = cache(s3Service, 1_024L, 60);
+
+        RecapCache.Recap recap = get(cache);
+
+        // 메모리에는 메타만 두고 응답은 디스크 파일 그대로
+        assertThat(recap.content()).isNull();
+        assertThat(recap.length()).isEqualTo(large.length);
+        Resource resource = recap.resource(false);
+        assertThat(resource).isInstanceOf(FileSystemResource.class);
+        assertThat(resource.contentLength()).isEqualTo(large.length);
+        assertThat(read(resource)).isEqualTo(large);
+        assertThat(recap.resource(true).contentLength()).isLessThan(large.length);
+    }
+
+    @Test
+    void diskTierEvictsLeastRecentlyReadEntries() throws Exception {
+        RecapDiskStore store = new RecapDiskStore(dir, 200);
+        put(store, "a");
+        put(store, "b");
+        Thread.sleep(20);
+        assertThat(store.read("a")).isNotNull();
+        long perEntry = store.usedBytes() / 2;
+
+        put(store, "c");
+
+        assertThat(store.usedBytes()).isEqualTo(perEntry * 2);
+        assertThat(store.read("b")).isNull();
+        assertThat(store.read("a")).isNotNull();
+        assertThat(store.read("c")).isNotNull();
+    }
+
+    @Test
+    void servingALargeRecapFromMemoryKeepsItsDiskFileRecent() throws Exception {
+        byte[] large = "회의록 ".repeat(10_000).getBytes(StandardCharsets.UTF_8);
+        when(s3Service.findLatestRecap(any())).thenAnswer(invocation -> summary("Summarize/" + invocation.getArgument(0) + "_1.txt"));
+        when(s3Service.downloadIfNoneMatch(any(), isNull(), any(Path.class))).thenAnswer(download(large));
+        long perEntry = large.length + gzip(large).length;
+        // 두 항목까지만 디스크에 남음
+        RecapCache cache = new RecapCache(s3Service, taskScheduler, new SimpleMeterRegistry(),
+                1_000_000L, 1_024L, dir.toString(), perEntry * 5 / 2, 60, 2, 3, 10);
+
+        Path a = cache.get("a").get(10, TimeUnit.SECONDS).file();
+        Path b = cache.get("b").get(10, TimeUnit.SECONDS).file();
+        Files.setLastModifiedTime(a, FileTime.fromMillis(System.currentTimeMillis() - 20_000));
+        Files.setLastModifiedTime(b, FileTime.fromMillis(System.currentTimeMillis() - 10_000));
+
+        // a 는 메모리의 메타로 응답 (디스크 read 없음) : 그래도 가장 최근에 쓰인 항목
+        assertThat(read(cache.get("a").get(10, TimeUnit.SECONDS).resource(false))).isEqualTo(large);
+        cache.get("c").get(10, TimeUnit.SECONDS);
+
+        RecapDiskStore disk = new RecapDiskStore(dir, Long.MAX_VALUE);
+        assertThat(disk.read("a")).isNotNull();
+        assertThat(disk.read("b")).isNull();
+        assertThat(disk.read("c")).isNotNull();
+    }
+
+    @Test
+    void newVersionIsWrittenBesideTheOldOneAndSwitchedByItsMeta() throws Exception {
+        RecapDiskStore store = new RecapDiskStore(dir, Long.MAX_VALUE);
+        Path first = commit(store, "etag-1", "첫 버전");
+        store.writeMeta(ROOM, new RecapCache.Recap(KEY, "etag-1", 0, null, null, first, System.currentTimeMillis()));
+
+        // 새 버전 commit 은 기존 본문/gzip 을 건드리지 않고, 메타를 바꾸기 전까지 읽는 쪽은 이전 버전을 봄
+        Path second = commit(store, "etag-2", "두 번째 버전");
+        assertThat(second).isNotEqualTo(first);
+        assertThat(Files.readString(first)).isEqualTo("첫 버전");
+        assertThat(store.read(ROOM).file()).isEqualTo(first);
+
+        store.writeMeta(ROOM, new RecapCache.Recap(KEY, "etag-2", 0, null, null, second, System.currentTimeMillis()));
+        RecapCache.Recap current = store.read(ROOM);
+        assertThat(current.eTag()).isEqualTo("etag-2");
+        assertThat(current.file()).isEqualTo(second);
+        assertThat(gunzip(RecapDiskStore.gzipOf(second))).isEqualTo("두 번째 버전");
+        // 방금까지 쓰이던 이전 버전은 응답이 열 수 있도록 남겨 둠
+        assertThat(first).exists();
+    }
+
+    @Test
+    void evictedDiskFileIsServedAsACacheMiss() throws Exception {
+        byte[] large = "회의록 ".repeat(10_000).getBytes(StandardCharsets.UTF_8);
+        when(s3Service.findLatestRecap(ROOM)).thenReturn(summary());
+        when(s3Service.downloadIfNoneMatch(eq(KEY), isNull(), any(Path.class))).thenAnswer(download(large));
+        RecapCache cache = cache(s3Service, 1_024L, 60);
+
+        Files.delete(get(cache).file());
+
+        // 500 대신 S3 에서 다시 받아 응답
+        RecapCache.Recap recap = get(cache);
+        assertThat(read(recap.resource(false))).isEqualTo(large);
+        verify(s3Service, times(2)).downloadIfNoneMatch(eq(KEY), isNull(), any(Path.class));
+    }
+
+    @Test
+    void prewarmRetriesUntilTheRecapIsUploaded() throws Exception {
+        List<Runnable> scheduled = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            scheduled.add(invocation.getArgument(0));
+            return null;
+        }).when(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+        when(s3Service.findLatestRecap(ROOM))
+                .thenThrow(new IllegalArgumentException("No recap file found for room: " + ROOM))
+                .thenReturn(summary());
+        when(s3Service.downloadIfNoneMatch(eq(KEY), isNull(), any(Path.class))).thenAnswer(download(CONTENT));
+        RecapCache cache = cache(60);
+
+        cache.prewarm(ROOM);
+        scheduled.remove(0).run();
+        awaitScheduled(scheduled);
+        scheduled.remove(0).run();
+        Thread.sleep(100);
+
+        assertThat(scheduled).isEmpty();
+        assertThat(get(cache).content()).isEqualTo(CONTENT);
+        verify(s3Service, times(1)).downloadIfNoneMatch(eq(KEY), isNull(), any(Path.class));
+    }
+
+    private RecapCache cache(long revalidateAfterSeconds) {
+        return cache(s3Service, 1_000_000L, revalidateAfterSeconds);
+    }
+
+    private RecapCache cache(S3Service s3, long memoryEntryMaxBytes, long revalidateAfterSeconds) {
+        return new RecapCache(s3, taskScheduler, new SimpleMeterRegistry(),
+                1_000_000L, memoryEntryMaxBytes, dir.toString(), 1_000_000L, revalidateAfterSeconds, 2, 3, 10);
+    }
+
+    private static RecapCache.Recap get(RecapCache cache) throws Exception {
+        return cache.get(ROOM).get(10, TimeUnit.SECONDS);
+    }
+
+    // S3 응답 흉내 : 본문을 target 파일에 쓰고 ETag 반환
+    private static Answer<String> download(byte[] content) {
+        return invocation -> {
+            Files.write(invocation.getArgument(2, Path.class), content);
+            return "etag-1";
+        };
+    }
+
+    private static byte[] read(Resource resource) throws Exception {
+        try (InputStream in = resource.getInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static Path commit(RecapDiskStore store, String eTag, String content) throws Exception {
+        Path temp = store.newTempFile(ROOM);
+        Files.writeString(temp, content);
+        return store.commit(ROOM, eTag, temp);
+    }
+
+    private static String gunzip(Path file) throws Exception {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void put(RecapDiskStore store, String roomName) throws Exception {
+        Path temp = store.newTempFile(roomName);
+        Files.write(temp, new byte[60]);
+        Path body = store.commit(roomName, "e", temp);
+        store.writeMeta(roomName, new RecapCache.Recap(roomName, "e", 60, null, null, body, System.currentTimeMillis()));
+    }
+
+    // 재시도 예약은 fetch 스레드에서 일어남
+    private static void awaitScheduled(List<Runnable> scheduled) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (scheduled.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static byte[] gzip(byte[] content) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(content);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static S3ObjectSummary summary() {
+        return summary(KEY);
+    }
+
+    private static S3ObjectSummary summary(String key) {
+        S3ObjectSummary summary = new S3ObjectSummary();
+        summary.setKey(key);
+        summary.setETag("etag-1");
+        return summary;
+    }
+}
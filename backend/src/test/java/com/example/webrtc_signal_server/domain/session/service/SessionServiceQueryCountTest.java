@@ -0,0 +1,157 @@
+package com.example.webrtc_signal_server.domain.session.service;
+
+import com.example.webrtc_signal_server.config.JpaAuditingConfig;
+import com.example.webrtc_signal_server.config.JpaBatchConfig;
+import com.example.webrtc_signal_server.domain.session.dto.SessionCreateRequestDTO;
+import com.example.webrtc_signal_server.domain.session.dto.SessionSummaryResponseDTO;
+import com.example.webrtc_signal_server.domain.session.entity.SessionEntity;
+import com.example.webrtc_signal_server.domain.session.entity.SessionParticipantEntity;
+import com.example.webrtc_signal_server.domain.session.entity.SessionStatus;
+import com.example.webrtc_signal_server.domain.session.repository.SessionParticipantRepository;
+import com.example.webrtc_signal_server.domain.session.repository.SessionRepository;
+import com.example.webrtc_signal_server.domain.user.entity.UserEntity;
+import com.example.webrtc_signal_server.domain.user.entity.UserRoleType;
+import com.example.webrtc_signal_server.domain.user.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+// getMySessions 의 SQL 수 고정 (H2 에서 실제 실행, Hibernate Statistics 로 셈) : 세션이 몇 개든 세션 페이지 1 + 참여자 닉네임 1
+// createSessions 는 사용자 조회 1 + 방 이름 확인 1 쿼리, insert 는 JDBC 배치
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import({JpaAuditingConfig.class, JpaBatchConfig.class})
+class SessionServiceQueryCountTest {
+
+    private static final int SESSIONS = 200;
+    private static final int PARTICIPANTS = 10;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private SessionParticipantRepository sessionParticipantRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void mySessionsAreServedWithConstantQueries() {
+        List<UserEntity> users = saveUsers(PARTICIPANTS);
+        List<SessionEntity> sessions = new ArrayList<>();
+        for (int s = 1; s <= SESSIONS; s++) {
+            SessionEntity session = SessionEntity.builder()
+                    .name("room" + s)
+                    .status(SessionStatus.COMPLETED)
+                    .participants(new ArrayList<>())
+                    .boards(new ArrayList<>())
+                    .build();
+            for (UserEntity user : users) {
+                SessionParticipantEntity participant = SessionParticipantEntity.builder().build();
+                participant.associateUser(user);
+                session.addParticipant(participant);
+            }
+            sessions.add(session);
+        }
+        sessionRepository.saveAll(sessions);
+        entityManager.flush();
+        entityManager.clear();
+        Long userId = users.get(0).getId();
+        SessionService sessionService = newSessionService();
+        Statistics statistics = statistics();
+
+        // 페이지 크기가 달라도 같은 수의 SQL
+        statistics.clear();
+        assertThat(sessionService.getMySessions(userId, SessionStatus.COMPLETED, Long.MAX_VALUE, 5)).hasSize(5);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        statistics.clear();
+        List<SessionSummaryResponseDTO> responses = sessionService.getMySessions(userId, SessionStatus.COMPLETED, Long.MAX_VALUE, 500);
+
+        assertThat(responses).hasSize(SESSIONS);
+        assertThat(responses.get(0).getSessionName()).isEqualTo("room" + SESSIONS); // 최신 세션 먼저
+        assertThat(responses.get(0).getStatus()).isEqualTo("COMPLETED");
+        assertThat(responses.get(0).getParticipantNicknames()).hasSize(PARTICIPANTS).startsWith("nick1");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void createSessionsResolveAllParticipantsWithOneQuery() {
+        List<UserEntity> users = saveUsers(PARTICIPANTS * 2);
+        entityManager.flush();
+        entityManager.clear();
+        List<SessionCreateRequestDTO> requests = new ArrayList<>();
+        for (int s = 0; s < 20; s++) {
+            requests.add(request("room" + s, users.subList(s % 2 == 0 ? 0 : PARTICIPANTS, s % 2 == 0 ? PARTICIPANTS : PARTICIPANTS * 2)));
+        }
+        Statistics statistics = statistics();
+
+        statistics.clear();
+        List<Long> ids = newSessionService().createSessions(requests);
+
+        assertThat(ids).hasSize(20);
+        // 사용자 findAllById 1 + findActiveNames 1, 나머지는 insert
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(2);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(20 + 20 * PARTICIPANTS);
+        // insert 는 JDBC 배치 (세션 1 + 참여자 batch_size 단위) : prepare 된 statement 는 쿼리 2 + id_generator 할당 + 배치 몇 개뿐
+        // hibernate.jdbc.batch_size 가 빠지면 insert 마다 prepare 하므로 (220 개) 세션 수보다 적을 수 없음
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(requests.size());
+    }
+
+    private SessionService newSessionService() {
+        return new SessionService(sessionRepository, userRepository, sessionParticipantRepository,
+                mock(RecapCache.class), mock(RoomRegistry.class), mock(SessionStatusStreams.class));
+    }
+
+    private List<UserEntity> saveUsers(int count) {
+        List<UserEntity> users = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            users.add(UserEntity.builder()
+                    .username("user" + i)
+                    .password("password")
+                    .isLock(false)
+                    .isSocial(false)
+                    .roleType(UserRoleType.USER)
+                    .nickname("nick" + i)
+                    .build());
+        }
+        return userRepository.saveAll(users);
+    }
+
+    private static SessionCreateRequestDTO request(String roomName, List<UserEntity> users) {
+        SessionCreateRequestDTO request = new SessionCreateRequestDTO();
+        request.setRoomName(roomName);
+        List<SessionCreateRequestDTO.SessionParticipantDTO> list = new ArrayList<>();
+        for (UserEntity user : users) {
+            SessionCreateRequestDTO.SessionParticipantDTO participant = new SessionCreateRequestDTO.SessionParticipantDTO();
+            participant.setIdentity(user.getId());
+            list.add(participant);
+        }
+        request.setParticipants(list);
+        return request;
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
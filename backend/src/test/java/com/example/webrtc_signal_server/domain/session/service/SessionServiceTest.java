@@ -0,0 +1,82 @@
+package com.example.webrtc_signal_server.domain.session.service;
+
+import com.example.webrtc_signal_server.domain.session.dto.SessionCreateRequestDTO;
+import com.example.webrtc_signal_server.domain.session.repository.SessionParticipantRepository;
+import com.example.webrtc_signal_server.domain.session.repository.SessionRepository;
+import com.example.webrtc_signal_server.domain.user.entity.UserEntity;
+import com.example.webrtc_signal_server.domain.user.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+// createSessions 의 요청 검증 (쿼리 수는 SessionServiceQueryCountTest)
+class SessionServiceTest {
+
+    private final SessionRepository sessionRepository = mock(SessionRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final SessionParticipantRepository sessionParticipantRepository = mock(SessionParticipantRepository.class);
+
+    private final SessionService sessionService = new SessionService(sessionRepository, userRepository,
+            sessionParticipantRepository, mock(RecapCache.class), mock(RoomRegistry.class),
+            mock(SessionStatusStreams.class));
+
+    @Test
+    void unknownParticipantsAreReportedTogether() {
+        when(userRepository.findAllById(anyIterable())).thenReturn(List.of(user(1L), user(3L)));
+
+        assertThatThrownBy(() -> sessionService.createSessions(List.of(request("room", 1, 5))))
+                .isInstanceOfSatisfying(UnknownParticipantsException.class,
+                        e -> assertThat(e.getUnknownIds()).containsExactly(2L, 4L, 5L));
+        verifyNoInteractions(sessionRepository);
+    }
+
+    @Test
+    void duplicateRoomNamesInOneRequestAreRejectedBeforeAnyQuery() {
+        assertThatThrownBy(() -> sessionService.createSessions(List.of(
+                request("a", 1, 1), request("b", 1, 1), request("a", 1, 1))))
+                .isInstanceOfSatisfying(DuplicateRoomNamesException.class,
+                        e -> assertThat(e.getRoomNames()).containsExactly("a"));
+        verifyNoInteractions(userRepository, sessionRepository);
+    }
+
+    @Test
+    void roomNameOfAMeetingStillInProgressIsAConflict() {
+        when(userRepository.findAllById(anyIterable())).thenReturn(List.of(user(1L)));
+        when(sessionRepository.findActiveNames(anyCollection())).thenReturn(List.of("my-team-meeting"));
+
+        assertThatThrownBy(() -> sessionService.createSessions(List.of(request("my-team-meeting", 1, 1))))
+                .isInstanceOfSatisfying(RoomNameInUseException.class,
+                        e -> assertThat(e.getRoomNames()).containsExactly("my-team-meeting"));
+        verify(sessionRepository, never()).saveAllAndFlush(anyIterable());
+    }
+
+    private static SessionCreateRequestDTO request(String roomName, long firstUserId, int participants) {
+        SessionCreateRequestDTO request = new SessionCreateRequestDTO();
+        request.setRoomName(roomName);
+        List<SessionCreateRequestDTO.SessionParticipantDTO> list = new ArrayList<>();
+        for (long userId = firstUserId; userId < firstUserId + participants; userId++) {
+            SessionCreateRequestDTO.SessionParticipantDTO participant = new SessionCreateRequestDTO.SessionParticipantDTO();
+            participant.setIdentity(userId);
+            list.add(participant);
+        }
+        request.setParticipants(list);
+        return request;
+    }
+
+    private static UserEntity user(long id) {
+        UserEntity user = mock(UserEntity.class);
+        when(user.getId()).thenReturn(id);
+        return user;
+    }
+}
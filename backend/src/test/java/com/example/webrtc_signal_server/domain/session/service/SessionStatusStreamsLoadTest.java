@@ -0,0 +1,100 @@
+package com.example.webrtc_signal_server.domain.session.service;
+
+import com.example.webrtc_signal_server.domain.session.entity.SessionStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 대기 중인 SSE 구독 수만 개 : 구독/heartbeat/전이 push 비용과 구독당 메모리.
+// SseEmitter.send 를 전송 횟수만 세도록 바꾼 emitter 라 소켓도 서블릿 컨테이너도 없음 ->
+// 구독 관리(등록/순회/제거) 비용만 재며, 네트워크 쓰기와 연결당 버퍼/async context 비용은 포함되지 않음.
+// 내장 Tomcat 에 실제 연결을 여는 부하는 api.SessionStatusStreamLoadTest.
+// 기본 test 에서 제외, ./gradlew benchmark 로 실행 (수치는 테스트 리포트에 기록)
+@Tag("benchmark")
+class SessionStatusStreamsLoadTest {
+
+    private static final int SESSIONS = 5_000;
+    private static final int SUBSCRIBERS_PER_SESSION = 10;
+    private static final int TOTAL = SESSIONS * SUBSCRIBERS_PER_SESSION;
+
+    @Test
+    void holdsTensOfThousandsOfIdleSubscribers(TestReporter reporter) throws Exception {
+        AtomicLong sends = new AtomicLong();
+        SessionStatusStreams streams = new CountingStreams(sends, 60_000);
+
+        long heapBefore = usedHeap();
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        long begin = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int s = 0; s < SESSIONS; s++) {
+            long sessionId = s;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < SUBSCRIBERS_PER_SESSION; i++) {
+                    streams.subscribe(sessionId, () -> SessionStatus.IN_PROGRESS);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long subscribeMillis = (System.nanoTime() - begin) / 1_000_000;
+        executor.shutdown();
+        long heapAfter = usedHeap();
+
+        assertThat(streams.subscriberCount()).isEqualTo(TOTAL);
+        assertThat(sends.get()).isEqualTo(TOTAL); // 구독 시 현재 상태 1건씩
+
+        // heartbeat 한 번이 전체 구독자를 도는 비용
+        begin = System.nanoTime();
+        streams.heartbeat();
+        long heartbeatMillis = (System.nanoTime() - begin) / 1_000_000;
+        assertThat(sends.get()).isEqualTo(TOTAL * 2L);
+
+        // 전이는 해당 세션 구독자에게만, COMPLETED 는 보내고 닫음
+        streams.publish(0L, SessionStatus.COMPLETED);
+        assertThat(sends.get()).isEqualTo(TOTAL * 2L + SUBSCRIBERS_PER_SESSION);
+        assertThat(streams.subscriberCount()).isEqualTo(TOTAL - SUBSCRIBERS_PER_SESSION);
+
+        assertThat(heartbeatMillis).isLessThan(5_000);
+        reporter.publishEntry("subscribeMillis", String.valueOf(subscribeMillis));
+        reporter.publishEntry("heartbeatMillis", String.valueOf(heartbeatMillis));
+        reporter.publishEntry("heapBytesPerSubscriber", String.valueOf(Math.max(0, heapAfter - heapBefore) / TOTAL));
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static final class CountingStreams extends SessionStatusStreams {
+        private final AtomicLong sends;
+
+        private CountingStreams(AtomicLong sends, long idleTimeoutMillis) {
+            super(new SimpleMeterRegistry(), idleTimeoutMillis);
+            this.sends = sends;
+        }
+
+        @Override
+        SseEmitter createEmitter() {
+            return new SseEmitter(0L) {
+                @Override
+                public void send(SseEventBuilder builder) {
+                    sends.incrementAndGet();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.webrtc_signal_server.domain.session.service;
+
+import com.example.webrtc_signal_server.domain.session.entity.SessionStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SessionStatusStreamsTest {
+
+    private final List<String> events = new CopyOnWriteArrayList<>();
+
+    private final SessionStatusStreams streams = new SessionStatusStreams(new SimpleMeterRegistry(), 60_000) {
+        @Override
+        SseEmitter createEmitter() {
+            return new SseEmitter(0L) {
+                @Override
+                public void send(SseEventBuilder builder) {
+                    events.add(builder.build().stream()
+                            .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                            .map(String::valueOf)
+                            .collect(Collectors.joining()));
+                }
+            };
+        }
+    };
+
+    @Test
+    void transitionCommittedWhileTheCurrentStatusIsReadIsNotLost() throws Exception {
+        CountDownLatch published = new CountDownLatch(1);
+        Thread publisher = new Thread(() -> {
+            streams.publish(1L, SessionStatus.IN_PROGRESS);
+            published.countDown();
+        });
+
+        // 현재 상태를 읽는 사이에 다른 요청이 전이를 커밋하고 publish
+        streams.subscribe(1L, () -> {
+            publisher.start();
+            return SessionStatus.BEFORE_START;
+        });
+
+        assertThat(published.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(events).hasSize(2);
+        assertThat(events.get(0)).contains(SessionStatus.BEFORE_START.name());
+        assertThat(events.get(1)).contains(SessionStatus.IN_PROGRESS.name());
+    }
+
+    @Test
+    void unknownSessionLeavesNoSubscriber() {
+        assertThatThrownBy(() -> streams.subscribe(1L, () -> {
+            throw new IllegalArgumentException("Session not found: 1");
+        })).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(streams.subscriberCount()).isZero();
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void idleAndBrokenSubscribersAreEvicted() {
+        SessionStatusStreams idle = new SessionStatusStreams(new SimpleMeterRegistry(), -1) { // 모두 idle 로 간주
+            @Override
+            SseEmitter createEmitter() {
+                return new SseEmitter(0L) {
+                    @Override
+                    public void send(SseEventBuilder builder) {
+                    }
+                };
+            }
+        };
+        for (int i = 0; i < 1_000; i++) {
+            idle.subscribe((long) i, () -> SessionStatus.BEFORE_START);
+        }
+        idle.heartbeat();
+        assertThat(idle.subscriberCount()).isZero();
+
+        SessionStatusStreams broken = new SessionStatusStreams(new SimpleMeterRegistry(), 60_000) {
+            @Override
+            SseEmitter createEmitter() {
+                return new SseEmitter(0L) {
+                    @Override
+                    public void send(SseEventBuilder builder) throws IOException {
+                        throw new IOException("Broken pipe");
+                    }
+                };
+            }
+        };
+        broken.subscribe(1L, () -> SessionStatus.IN_PROGRESS);
+        assertThat(broken.subscriberCount()).isZero();
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.webrtc_signal_server.domain.vote.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class InstantRunoffTallyTest {
+
+    @Test
+    void transfersBallotsOfEliminatedOptionsUntilMajority() {
+        // A=0, B=1, C=2 : 1라운드 A4 B3 C2 -> C 탈락, C 표는 B 로 (1표는 소진) -> A4 B4, 소진 1 -> 동률이면 뒤 position(B) 탈락
+        List<byte[]> ballots = new ArrayList<>();
+        for (int i = 0; i < 4; i++) ballots.add(new byte[]{0});
+        for (int i = 0; i < 3; i++) ballots.add(new byte[]{1, 2});
+        ballots.add(new byte[]{2, 1});
+        ballots.add(new byte[]{2});
+
+        InstantRunoffTally.Result result = InstantRunoffTally.count(3, ballots);
+
+        assertThat(result.rounds()).isEqualTo(3);
+        assertThat(new long[]{result.count(0, 0), result.count(0, 1), result.count(0, 2)}).containsExactly(4, 3, 2);
+        assertThat(result.eliminated(0)).isEqualTo(2);
+        assertThat(new long[]{result.count(1, 0), result.count(1, 1), result.count(1, 2)}).containsExactly(4, 4, 0);
+        assertThat(result.exhausted(1)).isEqualTo(1);
+        assertThat(result.eliminated(1)).isEqualTo(1);
+        assertThat(result.count(2, 0)).isEqualTo(4);
+        assertThat(result.eliminated(2)).isEqualTo(-1);
+        assertThat(result.winner()).isEqualTo(0);
+    }
+
+    @Test
+    void noBallotsHasNoWinner() {
+        InstantRunoffTally.Result result = InstantRunoffTally.count(3, List.of());
+
+        assertThat(result.rounds()).isEqualTo(1);
+        assertThat(result.winner()).isEqualTo(-1);
+    }
+
+    @Test
+    void countsTensOfThousandsOfBallotsQuickly() {
+        int options = 12;
+        int voters = 50_000;
+        Random random = new Random(42);
+        List<byte[]> ballots = new ArrayList<>(voters);
+        for (int v = 0; v < voters; v++) {
+            int[] order = random.ints(0, options).distinct().limit(1 + random.nextInt(options)).toArray();
+            byte[] ballot = new byte[order.length];
+            for (int i = 0; i < order.length; i++) ballot[i] = (byte) order[i];
+            ballots.add(ballot);
+        }
+
+        InstantRunoffTally.Result result = assertTimeoutPreemptively(Duration.ofSeconds(2),
+                () -> InstantRunoffTally.count(options, ballots));
+
+        // 매 라운드 (남은 표 + 소진 표) 는 전체 ballot 수와 같다
+        for (int round = 0; round < result.rounds(); round++) {
+            long total = result.exhausted(round);
+            for (int i = 0; i < options; i++) total += result.count(round, i);
+            assertThat(total).isEqualTo(voters);
+        }
+        assertThat(result.winner()).isBetween(0, options - 1);
+    }
+}
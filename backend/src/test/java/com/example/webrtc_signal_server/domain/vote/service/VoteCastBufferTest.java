@@ -0,0 +1,93 @@
+package com.example.webrtc_signal_server.domain.vote.service;
+
+import com.example.webrtc_signal_server.domain.vote.dto.Ballot;
+import com.example.webrtc_signal_server.domain.vote.dto.VoteCastResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class VoteCastBufferTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final VoteTallyEngine voteTallyEngine = mock(VoteTallyEngine.class);
+
+    private final VoteCastBuffer buffer = new VoteCastBuffer(jdbcTemplate, transactionManager, voteTallyEngine,
+            new SimpleMeterRegistry(), 100, 10, 10, 50, 1, 300);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        buffer.shutdown();
+    }
+
+    @Test
+    void castIsAcknowledgedOnlyAfterItsRowIsWritten() throws Exception {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        buffer.start();
+
+        CompletableFuture<VoteCastResult> ack = buffer.enqueue(1L, "voter", 11L, Ballot.single(0));
+
+        assertThat(ack.get(5, TimeUnit.SECONDS)).isEqualTo(VoteCastResult.RECORDED);
+        verify(jdbcTemplate).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    void writerSurvivesTransactionFailuresAndUndoesTheCasts() throws Exception {
+        // DB 다운 : 트랜잭션을 열 수 없음 (DataAccessException 이 아님)
+        when(transactionManager.getTransaction(any()))
+                .thenThrow(new CannotCreateTransactionException("db down"))
+                .thenThrow(new CannotCreateTransactionException("db down"))
+                .thenReturn(new SimpleTransactionStatus());
+        buffer.start();
+
+        CompletableFuture<VoteCastResult> failed = buffer.enqueue(1L, "voter", 11L, Ballot.single(0));
+        assertThatThrownBy(() -> failed.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(VoteCastBusyException.class);
+        verify(voteTallyEngine).unrecord(eq(1L), eq("voter"), any(Ballot.class), eq(false));
+
+        // writer 는 계속 동작하고, drain 도 끝난다
+        CompletableFuture<VoteCastResult> next = buffer.enqueue(1L, "voter", 11L, Ballot.single(0));
+        assertThat(next.get(5, TimeUnit.SECONDS)).isEqualTo(VoteCastResult.RECORDED);
+        buffer.drain(1L);
+    }
+
+    @Test
+    void drainGivesUpAfterItsDeadline() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new SimpleTransactionStatus();
+        });
+        buffer.start();
+
+        CompletableFuture<VoteCastResult> ack = buffer.enqueue(1L, "voter", 11L, Ballot.single(0));
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // writer 가 들고 있는 cast 가 drain-timeout 안에 끝나지 않으면 마감을 실패시킨다
+        assertThatThrownBy(() -> buffer.drain(1L)).isInstanceOf(IllegalStateException.class);
+
+        release.countDown();
+        assertThat(ack.get(5, TimeUnit.SECONDS)).isEqualTo(VoteCastResult.RECORDED);
+    }
+}
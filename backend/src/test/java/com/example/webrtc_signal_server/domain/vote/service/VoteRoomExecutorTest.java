@@ -0,0 +1,61 @@
+package com.example.webrtc_signal_server.domain.vote.service;
+
+import com.example.webrtc_signal_server.domain.vote.repository.VoteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class VoteRoomExecutorTest {
+
+    private final VoteRoomExecutor executor = new VoteRoomExecutor(mock(VoteTallyEngine.class), mock(VoteRepository.class),
+            new SimpleMeterRegistry(), 2, 64, 100, 1);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void commandThatExpiresInTheMailboxIsNeverRun() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> blocker = executor.call("room", () -> {
+            running.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        });
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 앞 명령이 방을 막고 있는 동안 await-timeout 이 지나면 503, 방이 풀려도 실행되지 않음 (재시도해도 한 번만 실행)
+        AtomicInteger runs = new AtomicInteger();
+        CompletableFuture<Integer> expired = executor.call("room", runs::incrementAndGet);
+        assertThatThrownBy(() -> expired.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(VoteCastBusyException.class);
+
+        release.countDown();
+        assertThat(blocker.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executor.call("room", runs::incrementAndGet).get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(runs.get()).isEqualTo(1);
+    }
+
+    @Test
+    void commandThatAlreadyStartedIsAwaitedPastTheTimeout() throws Exception {
+        // 시작한 명령은 취소할 수 없으므로 timeout 이 지나도 결과로 완료됨
+        CompletableFuture<String> slow = executor.call("room", () -> {
+            Thread.sleep(300);
+            return "done";
+        });
+
+        assertThat(slow.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+    }
+}
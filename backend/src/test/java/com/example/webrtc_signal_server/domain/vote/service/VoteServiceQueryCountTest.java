@@ -0,0 +1,155 @@
+package com.example.webrtc_signal_server.domain.vote.service;
+
+import com.example.webrtc_signal_server.config.JpaAuditingConfig;
+import com.example.webrtc_signal_server.domain.livekit.service.RoomEventPublisher;
+import com.example.webrtc_signal_server.domain.user.entity.UserEntity;
+import com.example.webrtc_signal_server.domain.user.entity.UserRoleType;
+import com.example.webrtc_signal_server.domain.user.repository.UserRepository;
+import com.example.webrtc_signal_server.domain.user.service.UserCache;
+import com.example.webrtc_signal_server.domain.vote.dto.VoteResponse;
+import com.example.webrtc_signal_server.domain.vote.entity.Vote;
+import com.example.webrtc_signal_server.domain.vote.entity.VoteResult;
+import com.example.webrtc_signal_server.domain.vote.entity.VoteResultSnapshot;
+import com.example.webrtc_signal_server.domain.vote.entity.VoteType;
+import com.example.webrtc_signal_server.domain.vote.repository.VoteOptionRepository;
+import com.example.webrtc_signal_server.domain.vote.repository.VoteRepository;
+import com.example.webrtc_signal_server.domain.vote.repository.VoteResultRepository;
+import com.example.webrtc_signal_server.domain.vote.repository.VoteResultSnapshotRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+// getVotesByRoom 의 SQL 수 고정 (H2 에서 실제 실행, Hibernate Statistics 로 prepare 된 statement 를 셈) :
+// 투표가 몇 개든 Vote 1 + Snapshot 1 (마감 투표) + VoteOption 1 + VoteResult 1 + User 1 (캐시 miss 시)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import(JpaAuditingConfig.class)
+class VoteServiceQueryCountTest {
+
+    private static final int VOTES = 50;
+    private static final int VOTERS = 20;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private VoteResultRepository voteResultRepository;
+
+    @Autowired
+    private VoteResultSnapshotRepository voteResultSnapshotRepository;
+
+    @Autowired
+    private VoteOptionRepository voteOptionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void roomPageIsServedWithConstantQueries() {
+        List<UserEntity> users = saveUsers();
+        List<VoteResult> ballots = new ArrayList<>();
+        for (int v = 1; v <= VOTES; v++) {
+            Vote vote = voteRepository.save(Vote.of("room", "topic" + v, VoteType.SINGLE, List.of("yes", "no"), "1", null));
+            for (int voter = 1; voter <= VOTERS; voter++) {
+                UserEntity user = users.get(voter - 1);
+                ballots.add(VoteResult.of(vote, String.valueOf(user.getId()), vote.getOptions().get(voter % 2 == 0 ? 0 : 1)));
+            }
+        }
+        voteResultRepository.saveAll(ballots);
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = statistics();
+
+        // 페이지 크기가 달라도 같은 수의 SQL
+        statistics.clear();
+        assertThat(newVoteService().getVotesByRoom("room", 0L, 5)).hasSize(5);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+
+        VoteService voteService = newVoteService();
+        statistics.clear();
+        List<VoteResponse> responses = voteService.getVotesByRoom("room", 0L, 100);
+
+        assertThat(responses).hasSize(VOTES);
+        assertThat(responses.get(0).getResults().get("yes")).hasSize(VOTERS / 2).contains("nick2");
+        assertThat(responses.get(0).getResults().get("no")).hasSize(VOTERS / 2).contains("nick1");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+
+        // 두 번째 조회는 선택지/닉네임이 캐시에 있으므로 Vote, VoteResult 쿼리만
+        statistics.clear();
+        voteService.getVotesByRoom("room", 0L, 100);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void closedVotesAreServedOnlyFromSnapshots() {
+        for (int v = 1; v <= VOTES; v++) {
+            Vote vote = Vote.of("room", "topic" + v, VoteType.SINGLE, List.of("yes", "no"), "1", null);
+            vote.close();
+            voteRepository.save(vote);
+            voteResultSnapshotRepository.save(VoteResultSnapshot.of(vote.getId(),
+                    "{\"yes\":1,\"no\":1}", "{\"yes\":[\"nick2\"],\"no\":[\"nick1\"]}", 2));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = statistics();
+
+        statistics.clear();
+        List<VoteResponse> responses = newVoteService().getVotesByRoom("room", 0L, 100);
+
+        assertThat(responses).hasSize(VOTES);
+        assertThat(responses.get(0).getResults()).containsOnlyKeys("yes", "no");
+        assertThat(responses.get(0).getResults().get("yes")).containsExactly("nick2");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    // 캐시가 비어 있는 새 서비스 (DB 접근은 실제 repository)
+    private VoteService newVoteService() {
+        return new VoteService(voteRepository, voteResultRepository,
+                new UserCache(userRepository, new SimpleMeterRegistry(), 300, 10_000),
+                mock(RoomEventPublisher.class), new ObjectMapper(), mock(VoteTallyEngine.class),
+                new VoteOptionCache(voteOptionRepository, new SimpleMeterRegistry(), 3600, 10_000),
+                mock(VoteCastBuffer.class), mock(VoteDeadlineScheduler.class), mock(VoteProgressBroadcaster.class),
+                voteResultSnapshotRepository);
+    }
+
+    private List<UserEntity> saveUsers() {
+        List<UserEntity> users = new ArrayList<>();
+        for (int i = 1; i <= VOTERS; i++) {
+            users.add(UserEntity.builder()
+                    .username("user" + i)
+                    .password("password")
+                    .isLock(false)
+                    .isSocial(false)
+                    .roleType(UserRoleType.USER)
+                    .nickname("nick" + i)
+                    .build());
+        }
+        return userRepository.saveAll(users);
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
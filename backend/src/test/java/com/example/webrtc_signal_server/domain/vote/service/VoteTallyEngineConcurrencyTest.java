@@ -0,0 +1,219 @@
+package com.example.webrtc_signal_server.domain.vote.service;
+
+import com.example.webrtc_signal_server.domain.vote.dto.Ballot;
+import com.example.webrtc_signal_server.domain.vote.dto.VoteCastResult;
+import com.example.webrtc_signal_server.domain.vote.dto.VoteOptions;
+import com.example.webrtc_signal_server.domain.vote.entity.Vote;
+import com.example.webrtc_signal_server.domain.vote.entity.VoteStatus;
+import com.example.webrtc_signal_server.domain.vote.entity.VoteType;
+import com.example.webrtc_signal_server.domain.vote.repository.VoteRepository;
+import com.example.webrtc_signal_server.domain.vote.repository.VoteResultRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class VoteTallyEngineConcurrencyTest {
+
+    private static final VoteOptions OPTIONS = new VoteOptions(List.of(11L, 12L, 13L, 14L), List.of("A", "B", "C", "D"));
+    private static final int CASTS = 20_000;
+    private static final int THREADS = 32;
+
+    @Test
+    void countsAreExactUnderParallelCasts() throws Exception {
+        VoteResultRepository voteResultRepository = mock(VoteResultRepository.class);
+        VoteTallyEngine engine = new VoteTallyEngine(mock(VoteRepository.class), voteResultRepository, mock(VoteOptionCache.class));
+
+        Vote vote = openVote(1L);
+        engine.open(1L, "room", VoteType.SINGLE, OPTIONS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < CASTS; i++) {
+            String voterId = "voter" + i;
+            Ballot ballot = Ballot.single(i % OPTIONS.size());
+            futures.add(executor.submit(() -> {
+                start.await();
+                engine.cast(vote, voterId, ballot, () -> { });
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        Map<String, Long> results = engine.results(vote);
+        assertThat(results.keySet()).containsExactlyElementsOf(OPTIONS.labels());
+        for (String label : OPTIONS.labels()) {
+            assertThat(results.get(label)).isEqualTo(CASTS / OPTIONS.size());
+        }
+        assertThat(engine.tally(vote).voterCount()).isEqualTo(CASTS);
+
+        // 최종 결과는 DB 조회 없이 동일해야 하고, 마감 커밋 후 (forget) 메모리에서 제거된다
+        assertThat(engine.close(vote)).isEqualTo(results);
+        engine.forget(1L);
+        assertThat(engine.isTracking(1L)).isFalse();
+        verifyNoInteractions(voteResultRepository);
+    }
+
+    @Test
+    void rejectsUnknownOptionAndUndoesFailedCasts() {
+        VoteTallyEngine engine = new VoteTallyEngine(mock(VoteRepository.class), mock(VoteResultRepository.class), mock(VoteOptionCache.class));
+        Vote vote = openVote(2L);
+        engine.open(2L, "room", VoteType.SINGLE, OPTIONS);
+
+        assertThatThrownBy(() -> engine.cast(vote, "voter", Ballot.single(99), () -> { })).isInstanceOf(IllegalArgumentException.class);
+
+        engine.cast(vote, "voter", Ballot.single(0), () -> { });
+        engine.unrecord(2L, "voter", Ballot.single(0), false);
+        assertThat(engine.results(vote)).containsEntry("A", 0L);
+
+        // 큐 적재가 거절되면 집계되지 않고, 닫힌 뒤의 cast 는 거절된다
+        assertThatThrownBy(() -> engine.cast(vote, "voter", Ballot.single(1), () -> { throw new VoteCastBusyException(1); }))
+                .isInstanceOf(VoteCastBusyException.class);
+        assertThat(engine.results(vote)).containsEntry("B", 0L);
+
+        engine.close(vote);
+        assertThatThrownBy(() -> engine.cast(2L, "late", Ballot.single(0), () -> { })).isInstanceOf(IllegalStateException.class);
+        engine.forget(2L);
+        assertThat(engine.cast(2L, "late", Ballot.single(0), () -> { })).isNull();
+    }
+
+    @Test
+    void eachVoterIsRecordedOnceUnderParallelRetries() throws Exception {
+        VoteTallyEngine engine = new VoteTallyEngine(mock(VoteRepository.class), mock(VoteResultRepository.class), mock(VoteOptionCache.class));
+        Vote vote = openVote(3L);
+        engine.open(3L, "room", VoteType.SINGLE, OPTIONS);
+
+        int voters = 2_000;
+        int retries = 4;
+        AtomicInteger accepted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<VoteCastResult>> futures = new ArrayList<>();
+
+        // 같은 voter 의 재시도는 다른 선택지를 보내도 첫 번째 하나만 기록된다
+        for (int attempt = 0; attempt < retries; attempt++) {
+            for (int i = 0; i < voters; i++) {
+                String voterId = "voter" + i;
+                Ballot ballot = Ballot.single((i + attempt) % OPTIONS.size());
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return engine.cast(vote, voterId, ballot, accepted::incrementAndGet);
+                }));
+            }
+        }
+
+        start.countDown();
+        int recorded = 0;
+        for (Future<VoteCastResult> future : futures) {
+            if (future.get(30, TimeUnit.SECONDS) == VoteCastResult.RECORDED) recorded++;
+        }
+        executor.shutdown();
+
+        assertThat(recorded).isEqualTo(voters);
+        assertThat(accepted.get()).isEqualTo(voters);
+        assertThat(engine.tally(vote).voterCount()).isEqualTo(voters);
+        assertThat(engine.results(vote).values().stream().mapToLong(Long::longValue).sum()).isEqualTo(voters);
+
+        // 저장 실패로 되돌린 voter 는 다시 투표할 수 있다
+        engine.unrecord(3L, "voter0", Ballot.single(0), false);
+        assertThat(engine.cast(3L, "voter0", Ballot.single(1), () -> { })).isEqualTo(VoteCastResult.RECORDED);
+        assertThat(engine.cast(3L, "voter0", Ballot.single(1), () -> { })).isEqualTo(VoteCastResult.ALREADY_VOTED);
+    }
+
+    @Test
+    void weightedBallotsAddTheirWeightsAndMustMatchTheVoteType() {
+        VoteTallyEngine engine = new VoteTallyEngine(mock(VoteRepository.class), mock(VoteResultRepository.class), mock(VoteOptionCache.class));
+        Vote vote = openVote(4L);
+        engine.open(4L, "room", VoteType.WEIGHTED, OPTIONS);
+
+        engine.cast(vote, "a", Ballot.weighted(List.of(3, 0, 1, 0), OPTIONS.size()), () -> { });
+        engine.cast(vote, "b", Ballot.weighted(List.of(0, 200, 1, 0), OPTIONS.size()), () -> { });
+        assertThat(engine.results(vote)).containsExactly(Map.entry("A", 3L), Map.entry("B", 200L), Map.entry("C", 2L), Map.entry("D", 0L));
+
+        engine.unrecord(4L, "b", Ballot.weighted(List.of(0, 200, 1, 0), OPTIONS.size()), false);
+        assertThat(engine.results(vote)).containsEntry("B", 0L).containsEntry("C", 1L);
+
+        assertThatThrownBy(() -> engine.cast(vote, "c", Ballot.single(0), () -> { })).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Ballot.weighted(List.of(0, 0, 0, 0), OPTIONS.size())).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Ballot.ranked(List.of(1, 1), OPTIONS.size())).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void closedVoteIsNeverLoadedBackIntoMemory() {
+        VoteRepository voteRepository = mock(VoteRepository.class);
+        VoteTallyEngine engine = new VoteTallyEngine(voteRepository, mock(VoteResultRepository.class), mock(VoteOptionCache.class));
+
+        // 마감 커밋 전에 읽은 엔티티 (아직 OPEN) 로 결과를 조회해도 DB 상태가 CLOSED 면 다시 올리지 않는다
+        Vote stale = openVote(5L);
+        when(voteRepository.findStatusById(5L)).thenReturn(Optional.of(VoteStatus.CLOSED));
+        assertThatThrownBy(() -> engine.results(stale)).isInstanceOf(IllegalStateException.class);
+        assertThat(engine.isTracking(5L)).isFalse();
+
+        Vote closed = mock(Vote.class);
+        when(closed.getId()).thenReturn(6L);
+        when(closed.getStatus()).thenReturn(VoteStatus.CLOSED);
+        assertThatThrownBy(() -> engine.cast(closed, "voter", Ballot.single(0), () -> { })).isInstanceOf(IllegalStateException.class);
+        assertThat(engine.isTracking(6L)).isFalse();
+    }
+
+    @Test
+    void openAfterCommitKeepsATallyAlreadyLoadedByACast() {
+        VoteTallyEngine engine = new VoteTallyEngine(mock(VoteRepository.class), mock(VoteResultRepository.class), mock(VoteOptionCache.class));
+        Vote vote = openVote(7L);
+        engine.open(7L, "room", VoteType.SINGLE, OPTIONS);
+        engine.cast(vote, "voter", Ballot.single(0), () -> { });
+
+        engine.open(7L, "room", VoteType.SINGLE, OPTIONS);
+
+        assertThat(engine.results(vote)).containsEntry("A", 1L);
+    }
+
+    @Test
+    void castsDroppedWhileDrainingAreUndoneBeforeTheFinalResults() {
+        VoteTallyEngine engine = new VoteTallyEngine(mock(VoteRepository.class), mock(VoteResultRepository.class), mock(VoteOptionCache.class));
+        Vote vote = openVote(8L);
+        engine.open(8L, "room", VoteType.SINGLE, OPTIONS);
+        engine.cast(vote, "kept", Ballot.single(0), () -> { });
+        engine.cast(vote, "dropped", Ballot.single(1), () -> { });
+
+        // 마감 시작 (seal) 후 drain 중 저장에 실패한 표는 최종 결과에서 빠진다
+        engine.seal(vote);
+        assertThatThrownBy(() -> engine.cast(vote, "late", Ballot.single(2), () -> { })).isInstanceOf(IllegalStateException.class);
+        engine.unrecord(8L, "dropped", Ballot.single(1), false);
+
+        assertThat(engine.close(vote)).containsEntry("A", 1L).containsEntry("B", 0L).containsEntry("C", 0L);
+
+        // 마감이 롤백되면 다시 표를 받는다
+        engine.unseal(8L);
+        assertThat(engine.cast(vote, "late", Ballot.single(2), () -> { })).isEqualTo(VoteCastResult.RECORDED);
+        assertThat(engine.results(vote)).containsEntry("C", 1L);
+    }
+
+    private static Vote openVote(long id) {
+        Vote vote = mock(Vote.class);
+        when(vote.getId()).thenReturn(id);
+        when(vote.getStatus()).thenReturn(VoteStatus.OPEN);
+        return vote;
+    }
+}
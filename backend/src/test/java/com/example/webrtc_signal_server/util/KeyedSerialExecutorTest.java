@@ -0,0 +1,93 @@
+package com.example.webrtc_signal_server.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeyedSerialExecutorTest {
+
+    private static final int KEYS = 16;
+    private static final int TASKS_PER_KEY = 5_000;
+
+    @Test
+    void tasksOfOneKeyRunInOrderAndNeverOverlap() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        KeyedSerialExecutor<String> executor = new KeyedSerialExecutor<>(pool, 32);
+        ExecutorService submitters = Executors.newFixedThreadPool(KEYS);
+
+        int[] lastSeen = new int[KEYS];
+        AtomicInteger[] running = new AtomicInteger[KEYS];
+        AtomicInteger overlaps = new AtomicInteger();
+        AtomicInteger outOfOrder = new AtomicInteger();
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+
+        // key 마다 제출 스레드 하나 (제출 순서 = 기대 실행 순서)
+        List<Future<List<CompletableFuture<Integer>>>> perKey = new ArrayList<>();
+        for (int k = 0; k < KEYS; k++) {
+            int key = k;
+            running[key] = new AtomicInteger();
+            perKey.add(submitters.submit(() -> {
+                List<CompletableFuture<Integer>> submitted = new ArrayList<>();
+                for (int i = 1; i <= TASKS_PER_KEY; i++) {
+                    int seq = i;
+                    submitted.add(executor.submit("room" + key, () -> {
+                        if (running[key].incrementAndGet() != 1) overlaps.incrementAndGet();
+                        if (lastSeen[key] != seq - 1) outOfOrder.incrementAndGet();
+                        lastSeen[key] = seq;
+                        running[key].decrementAndGet();
+                        return seq;
+                    }));
+                }
+                return submitted;
+            }));
+        }
+        for (Future<List<CompletableFuture<Integer>>> f : perKey) {
+            futures.addAll(f.get(30, TimeUnit.SECONDS));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+
+        assertThat(overlaps.get()).isZero();
+        assertThat(outOfOrder.get()).isZero();
+        for (int k = 0; k < KEYS; k++) {
+            assertThat(lastSeen[k]).isEqualTo(TASKS_PER_KEY);
+        }
+        // 비어 있는 mailbox 는 정리된다 (future 완료 직후 정리되므로 잠시 대기)
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.activeKeys() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(executor.queued()).isZero();
+        assertThat(executor.activeKeys()).isZero();
+
+        submitters.shutdown();
+        pool.shutdown();
+    }
+
+    @Test
+    void differentKeysRunInParallelAndReentrantSubmitRunsInline() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        KeyedSerialExecutor<String> executor = new KeyedSerialExecutor<>(pool, 32);
+
+        // 두 key 의 작업이 서로를 기다려도 끝나야 한다 (같은 스레드에서 직렬로 돌면 교착)
+        CountDownLatch both = new CountDownLatch(2);
+        CompletableFuture<Boolean> a = executor.submit("a", () -> { both.countDown(); return both.await(5, TimeUnit.SECONDS); });
+        CompletableFuture<Boolean> b = executor.submit("b", () -> { both.countDown(); return both.await(5, TimeUnit.SECONDS); });
+        assertThat(a.get(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(b.get(10, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Integer> nested = executor.submit("a", () -> executor.submit("a", () -> 42).get(1, TimeUnit.SECONDS));
+        assertThat(nested.get(10, TimeUnit.SECONDS)).isEqualTo(42);
+
+        pool.shutdown();
+    }
+}
@@ -48,6 +48,7 @@ class _RoomPageState extends State<RoomPage> {
   // Vote lifecycle state
   VoteProposal? _currentVoteProposal;
   VoteSession? _currentVoteSession;
+  Map<String, int>? _currentVoteProgress;
   VoteResults? _currentVoteResults;
 
   bool _isSidebarVisible = false;
@@ -153,48 +154,15 @@ class _RoomPageState extends State<RoomPage> {
         String decodedString = utf8.decode(event.data);
         Map<String, dynamic> jsonData = jsonDecode(decodedString);
 
-        switch (jsonData['type']) {
-          case 'VOTE_CREATED':
-            setState(() {
-              _currentVoteProposal = VoteProposal.fromJson(jsonData);
-              _currentVoteSession = null;
-              _currentVoteResults = null;
-              _isSidebarVisible = true;
-            });
-            break;
-          case 'VOTE_STARTED':
-            setState(() {
-              _currentVoteProposal = null;
-              _currentVoteSession = VoteSession.fromJson(jsonData);
-              _currentVoteResults = null;
-              _isSidebarVisible = true;
-            });
-            break;
-          case 'VOTE_ENDED':
-            setState(() {
-              _currentVoteProposal = null;
-              _currentVoteSession = null;
-              _currentVoteResults = VoteResults.fromJson(jsonData);
-              _isSidebarVisible = true;
-            });
-            break;
-          case 'RECAP_GENERATED':
-          // Handle recap data from Agent
-            final recapData = jsonData['data'] as Map<String, dynamic>?;
-            if (recapData != null) {
-              // Reset loading state and show recap dialog
-              final state = _aiSummaryCardKey.currentState;
-              if (state != null) {
-                (state as dynamic).resetLoadingState();
-                (state as dynamic).showRecapDialog(context, recapData);
-              }
-            }
-            break;
-          default:
-            context.showDataReceivedDialog(decodedString);
-            break;
+        // Server coalesces several events for one room into a single packet
+        if (jsonData['type'] == 'EVENT_BATCH') {
+          for (final item in (jsonData['events'] as List)) {
+            final eventData = item as Map<String, dynamic>;
+            _handleRoomData(eventData, jsonEncode(eventData));
+          }
+        } else {
+          _handleRoomData(jsonData, decodedString);
         }
-
       } catch (e) {
         print("Error decoding or handling data: $e");
       }
@@ -209,6 +177,62 @@ class _RoomPageState extends State<RoomPage> {
       }
     });
 
+  void _handleRoomData(Map<String, dynamic> jsonData, String decodedString) {
+    switch (jsonData['type']) {
+      case 'VOTE_CREATED':
+        setState(() {
+          _currentVoteProposal = VoteProposal.fromJson(jsonData);
+          _currentVoteSession = null;
+          _currentVoteResults = null;
+          _isSidebarVisible = true;
+        });
+        break;
+      case 'VOTE_STARTED':
+        setState(() {
+          _currentVoteProposal = null;
+          _currentVoteSession = VoteSession.fromJson(jsonData);
+          _currentVoteProgress = null;
+          _currentVoteResults = null;
+          _isSidebarVisible = true;
+        });
+        break;
+      case 'VOTE_ENDED':
+        setState(() {
+          _currentVoteProposal = null;
+          _currentVoteSession = null;
+          _currentVoteProgress = null;
+          _currentVoteResults = VoteResults.fromJson(jsonData);
+          _isSidebarVisible = true;
+        });
+        break;
+      case 'VOTE_PROGRESS':
+        // Running counts for the open vote (throttled by the server)
+        final data = jsonData['data'] as Map<String, dynamic>?;
+        if (data != null && _currentVoteSession?.voteId == data['voteId']) {
+          final results = Map<String, dynamic>.from(data['results'] ?? {});
+          setState(() {
+            _currentVoteProgress = results.map((option, count) => MapEntry(option, (count as num).toInt()));
+          });
+        }
+        break;
+      case 'RECAP_GENERATED':
+      // Handle recap data from Agent
+        final recapData = jsonData['data'] as Map<String, dynamic>?;
+        if (recapData != null) {
+          // Reset loading state and show recap dialog
+          final state = _aiSummaryCardKey.currentState;
+          if (state != null) {
+            (state as dynamic).resetLoadingState();
+            (state as dynamic).showRecapDialog(context, recapData);
+          }
+        }
+        break;
+      default:
+        context.showDataReceivedDialog(decodedString);
+        break;
+    }
+  }
+
   void _askPublish() async {
     final result = await context.showPublishDialog();
     if (result != true) return;
@@ -382,6 +406,7 @@ class _RoomPageState extends State<RoomPage> {
           padding: const EdgeInsets.only(bottom: 16.0),
           child: AiVoteCard(
             voteSession: _currentVoteSession!,
+            progress: _currentVoteProgress,
             voterId: localParticipant.identity,
             isProposer: localParticipant.identity == _currentVoteSession!.proposerId,
             onRemove: () => setState(() => _currentVoteSession = null),
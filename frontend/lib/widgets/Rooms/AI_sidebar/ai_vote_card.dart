@@ -4,6 +4,7 @@ import 'package:meeting_app/services/api_service.dart';
 
 class AiVoteCard extends StatefulWidget {
   final VoteSession voteSession;
+  final Map<String, int>? progress;
   final String voterId;
   final bool isProposer;
   final VoidCallback? onRemove;
@@ -11,6 +12,7 @@ class AiVoteCard extends StatefulWidget {
   const AiVoteCard({
     super.key,
     required this.voteSession,
+    this.progress,
     required this.voterId,
     required this.isProposer,
     this.onRemove,
@@ -104,7 +106,7 @@ class _AiVoteCardState extends State<AiVoteCard> {
                         backgroundColor: isSelected ? Colors.blue.shade100 : null
                       ),
                       onPressed: _hasVoted ? null : () => _handleVote(option),
-                      child: Text(option),
+                      child: Text(widget.progress == null ? option : '$option (${widget.progress![option] ?? 0})'),
                     ),
                   );
                 }).toList(),